@@ -1,12 +1,13 @@
 import model.*;
 import utility.JsonFileIO;
+import utility.TaskJournal;
 
 import java.lang.reflect.Array;
 import java.util.*;
 
 // A simple "To Do" app
 public class ConsoleToDoApp {
-    private static List<Task> todo;
+    private static TaskStore todo;
     private static Scanner input;
     private static String userInput;
     private static boolean exit = false;
@@ -14,7 +15,7 @@ public class ConsoleToDoApp {
     
     public static void main(String[] args) {
         input = new Scanner(System.in);
-        todo = new ArrayList<>();
+        todo = new TaskStore();
         jsonFileIO = new JsonFileIO();
         todo = JsonFileIO.read();
         
@@ -52,8 +53,9 @@ public class ConsoleToDoApp {
     
     private static void addNewTask() {
         if (getDescriptionForTask()) {
-            todo.add(new Task(userInput));
-            JsonFileIO.write(todo);
+            Task task = new Task(userInput);
+            todo.add(task);
+            TaskJournal.logAdd(todo, task);
         }
     }
     
@@ -114,9 +116,10 @@ public class ConsoleToDoApp {
         System.out.println("------------------------------");
     }
     
-    private static void displayTasks(List<Task> tasks) {
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.printf("%3d. %s\n", i + 1, tasks.get(i).getDescription());
+    private static void displayTasks(TaskStore tasks) {
+        int i = 0;
+        for (Task task : tasks) {
+            System.out.printf("%3d. %s\n", ++i, task.getDescription());
         }
     }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package controller;
 import com.jfoenix.controls.JFXButton;
 import com.jfoenix.controls.JFXNodesList;
 import javafx.fxml.FXML;
-import ui.AddTask;
 import ui.PomoTodoApp;
 import utility.Logger;
 
@@ -23,7 +22,7 @@ public class AddButtonController {
     public void onNewTask() {
         Logger.log("AddButtonController", "Add new task.");
         closeNodeList();
-        PomoTodoApp.setScene(new AddTask());
+        PomoTodoApp.showAddTask();
     }
     
     // EFFECTS: Open the "Add new project" UI
@@ -4,11 +4,9 @@ import com.jfoenix.controls.JFXButton;
 import com.jfoenix.controls.JFXTextArea;
 import javafx.fxml.FXML;
 import model.Task;
-import ui.AddTask;
-import ui.ListView;
 import ui.PomoTodoApp;
-import utility.JsonFileIO;
 import utility.Logger;
+import utility.PersistenceExecutor;
 
 // Controller class for AddTask UI
 public class AddTaskController {
@@ -20,6 +18,12 @@ public class AddTaskController {
     private JFXButton cancelButton;
     private Task task;
     
+    // MODIFIES: this
+    // EFFECTS: clears the description entered
+    public void clear() {
+        description.clear();
+    }
+    
     // EFFECTS: try to create a new task from the given description
     //          add the new task to the list of tasks in PomoTodoApp
     //          return to the list view UI
@@ -29,7 +33,7 @@ public class AddTaskController {
         try {
             Task task = new Task(description.getText());
             PomoTodoApp.getTasks().add(task);
-            JsonFileIO.write(PomoTodoApp.getTasks());
+            PersistenceExecutor.logAdd(task);
         } catch (RuntimeException e) {
             Logger.log("AddTaskController", "Failed to create a new task from description " + description.getText());
         } finally {
@@ -47,6 +51,6 @@ public class AddTaskController {
     // EFFECTS: return to the list view UI
     private void returnToListView() {
         Logger.log("AddTaskController", "Return to the list view UI.");
-        PomoTodoApp.setScene(new ListView(PomoTodoApp.getTasks()));
+        PomoTodoApp.showListView();
     }
 }
@@ -5,23 +5,20 @@ import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
-import model.DueDate;
+import model.Priority;
 import model.Status;
 import model.Tag;
 import model.Task;
-import ui.ListView;
+import persistence.DueDateCodec;
 import ui.PomoTodoApp;
-import utility.JsonFileIO;
 import utility.Logger;
+import utility.PersistenceExecutor;
 
 import java.net.URL;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -68,9 +65,11 @@ public class EditTaskController implements Initializable {
     
     // REQUIRES: task != null
     private void displayTags() {
+        List<String> names = new ArrayList<>();
         for (Tag t : task.getTags()) {
-            tags.getChips().add(t.getName());
+            names.add(t.getName());
         }
+        tags.getChips().setAll(names);
     }
     
     // REQUIRES: task != null
@@ -85,39 +84,22 @@ public class EditTaskController implements Initializable {
     
     // REQUIRES: task != null
     private void displayPriority() {
-        if (task.getPriority().isUrgent()) {
-            isUrgentBox.setSelected(true);
-        }
-        if (task.getPriority().isImportant()) {
-            isImportantBox.setSelected(true);
-        }
+        isUrgentBox.setSelected(task.getPriority().isUrgent());
+        isImportantBox.setSelected(task.getPriority().isImportant());
     }
     
     // REQUIRES: task != null
     private void displayDueDate() {
-        if (task.getDueDate() != Task.NO_DUE_DATE) {
-            datePicker.setValue(convertToLocalDate(task.getDueDate().getDate()));
-            timePicker.setValue(convertToLocalTime(task.getDueDate().getDate()));
+        if (task.getDueMinute() != Task.NO_DUE_MINUTE) {
+            LocalDateTime due = DueDateCodec.LOCAL.toLocalDateTime(task.getDueMinute());
+            datePicker.setValue(due.toLocalDate());
+            timePicker.setValue(due.toLocalTime());
         } else {
             datePicker.setValue(null);
             timePicker.setValue(null);
         }
     }
     
-    // REQUIRES: dateToConvert != null
-    private LocalDate convertToLocalDate(Date dateToConvert) {
-        return dateToConvert.toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDate();
-    }
-    
-    // REQUIRES: dateToConvert != null
-    private LocalTime convertToLocalTime(Date dateToConvert) {
-        return dateToConvert.toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalTime();
-    }
-    
     // REQUIRES: task != null
     // MODIFIES: this
     // EFFECTS: save the updates on UI to task
@@ -128,9 +110,10 @@ public class EditTaskController implements Initializable {
         saveStatus();
         savePriority();
         saveTags();
-        JsonFileIO.write(PomoTodoApp.getTasks());
+        PomoTodoApp.getTasks().update(task);
+        PersistenceExecutor.logEdit(task);
         Logger.log("EditTaskController", "Save task:\n" + task);
-        PomoTodoApp.setScene(new ListView(PomoTodoApp.getTasks()));
+        PomoTodoApp.showListView();
     }
     
     // REQUIRES: task != null
@@ -141,21 +124,14 @@ public class EditTaskController implements Initializable {
     
     // REQUIRES: task != null
     private void saveDueDate() {
-        String dateStr = datePicker.getValue() + " " + timePicker.getValue();
-        String pattern = "yyyy-MM-dd HH:mm";
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
-        Date date;
-        try {
-            date = simpleDateFormat.parse(dateStr);
-        } catch (ParseException e) {
-            date = null;
-        }
-        if (date == null) {
+        LocalDate date = datePicker.getValue();
+        LocalTime time = timePicker.getValue();
+        if (date == null || time == null) {
             Logger.log("EditTaskController", "No due date is given");
             task.setDueDate(Task.NO_DUE_DATE);
         } else {
             Logger.log("EditTaskController", "Save due date");
-            task.setDueDate(new DueDate(date));
+            task.setDueDate(DueDateCodec.LOCAL.toDueDate(date.atTime(time.getHour(), time.getMinute())));
         }
     }
     
@@ -182,14 +158,16 @@ public class EditTaskController implements Initializable {
     // REQUIRES: task != null
     private void savePriority() {
         Logger.log("EditTaskController", "Save priority");
-        task.getPriority().setImportant(isImportantBox.isSelected());
-        task.getPriority().setUrgent(isUrgentBox.isSelected());
+        Priority priority = new Priority();
+        priority.setImportant(isImportantBox.isSelected());
+        priority.setUrgent(isUrgentBox.isSelected());
+        task.setPriority(priority);
     }
     
     @FXML
     public void cancelEditTask() {
         Logger.log("EditTaskController", "Edit Task cancelled.");
-        PomoTodoApp.setScene(new ListView(PomoTodoApp.getTasks()));
+        PomoTodoApp.showListView();
     }
     
     @Override
@@ -1,22 +1,88 @@
 package controller;
 
 import javafx.fxml.FXML;
-import javafx.scene.layout.VBox;
+import javafx.scene.control.ListView;
 import model.Task;
-import ui.Todobar;
+import model.TaskStore;
+import model.TaskStoreChange;
+import ui.TodobarCell;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.function.Function;
 
 // Controller class for ListView UI
-public class ListViewController {
+// Tasks are shown in a virtualized list: only the cells in the visible window are created,
+// each holding one Todobar that is re-bound to another task as the list scrolls
+// The list view observes the store it shows: when a task is added, removed or updated,
+// only the rows that changed are patched into the shown list. In display order, each change
+// is applied at the index the store gives for it; other views are compared with the shown list.
+public class ListViewController implements Observer {
+    // The view showing the tasks of a store in display order
+    public static final Function<TaskStore, ? extends Iterable<Task>> DISPLAY_ORDER = TaskStore::getTasks;
+
+    @FXML
+    private ListView<Task> tasks;
+    private TaskStore store;
+    private Function<TaskStore, ? extends Iterable<Task>> view;
+
     @FXML
-    private VBox tasks;
+    private void initialize() {
+        tasks.setCellFactory(listView -> new TodobarCell());
+    }
     
-    // EFFECTS: adds Todobar UI to ListView UI for each task
-    public void setData(List<Task> tasks) {
-        for (Task t : tasks) {
-            Todobar todobar = new Todobar(t);
-            this.tasks.getChildren().add(todobar);
+    // MODIFIES: this, store
+    // EFFECTS: shows the tasks of store selected and ordered by view, and keeps them shown as store changes
+    public void setData(TaskStore store, Function<TaskStore, ? extends Iterable<Task>> view) {
+        if (this.store != store) {
+            if (this.store != null) {
+                this.store.deleteObserver(this);
+            }
+            store.addObserver(this);
+            this.store = store;
+        }
+        this.view = view;
+        patch();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: patches the rows of the changed task into the shown list;
+    //          an updated task that stays in its place is redrawn in its row only
+    @Override
+    public void update(Observable o, Object arg) {
+        if (!(arg instanceof TaskStoreChange)) {
+            return;
+        }
+        TaskStoreChange change = (TaskStoreChange) arg;
+        if (view == DISPLAY_ORDER) {
+            apply(change);
+            return;
         }
+        patch();
+        if (change.getKind() == TaskStoreChange.Kind.UPDATED) {
+            redraw(change.getTask());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies change to the row at its index in the shown list, which is in display order
+    private void apply(TaskStoreChange change) {
+        TaskRows.apply(tasks.getItems(), change);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the current tasks of the view, replacing only the rows that changed
+    private void patch() {
+        List<Task> updated = new ArrayList<>();
+        view.apply(store).forEach(updated::add);
+        TaskRows.patch(tasks.getItems(), updated);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: redraws the row showing task, if any
+    private void redraw(Task task) {
+        TaskRows.redraw(tasks.getItems(), task);
     }
-}
\ No newline at end of file
+}
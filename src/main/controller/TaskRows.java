@@ -0,0 +1,60 @@
+package controller;
+
+import model.Task;
+import model.TaskStoreChange;
+
+import java.util.List;
+
+// Updates the rows of a shown list of tasks in place, touching only the rows that changed
+// Works on any List, so that the ObservableList of a ListView is told of the changed rows
+// only, and the patching can be checked without the JavaFX toolkit.
+class TaskRows {
+
+    // MODIFIES: shown
+    // EFFECTS: applies change to the row at its index in shown, which is in display order
+    static void apply(List<Task> shown, TaskStoreChange change) {
+        switch (change.getKind()) {
+            case ADDED:
+                shown.add(change.getIndex(), change.getTask());
+                break;
+            case REMOVED:
+                shown.remove(change.getIndex());
+                break;
+            default:
+                shown.set(change.getIndex(), change.getTask());
+                break;
+        }
+    }
+
+    // MODIFIES: shown
+    // EFFECTS: makes shown hold the tasks of updated, in order; only the rows between the longest
+    //          unchanged prefix and suffix of shown are replaced, and shown is not touched if
+    //          it already holds the same tasks
+    static void patch(List<Task> shown, List<Task> updated) {
+        int common = Math.min(shown.size(), updated.size());
+        int prefix = 0;
+        while (prefix < common && shown.get(prefix) == updated.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix
+                && shown.get(shown.size() - 1 - suffix) == updated.get(updated.size() - 1 - suffix)) {
+            suffix++;
+        }
+        if (prefix + suffix < Math.max(shown.size(), updated.size())) {
+            shown.subList(prefix, shown.size() - suffix).clear();
+            shown.addAll(prefix, updated.subList(prefix, updated.size() - suffix));
+        }
+    }
+
+    // MODIFIES: shown
+    // EFFECTS: sets the row showing task, if any, to task again, so that it is redrawn
+    static void redraw(List<Task> shown, Task task) {
+        for (int i = 0; i < shown.size(); i++) {
+            if (shown.get(i) == task) {
+                shown.set(i, task);
+                return;
+            }
+        }
+    }
+}
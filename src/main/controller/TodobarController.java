@@ -12,11 +12,9 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import model.Task;
-import ui.EditTask;
-import ui.ListView;
 import ui.PomoTodoApp;
-import utility.JsonFileIO;
 import utility.Logger;
+import utility.PersistenceExecutor;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,8 +25,15 @@ import java.util.ResourceBundle;
 public class TodobarController implements Initializable {
     private static final String todoOptionsPopUpFXML = "resources/fxml/TodoOptionsPopUp.fxml";
     private static final String todoActionsPopUpFXML = "resources/fxml/TodoActionsPopUp.fxml";
-    private File todoActionsPopUpFxmlFile = new File(todoActionsPopUpFXML);
-    private File todoOptionsPopUpFxmlFile = new File(todoOptionsPopUpFXML);
+    private static File todoActionsPopUpFxmlFile = new File(todoActionsPopUpFXML);
+    private static File todoOptionsPopUpFxmlFile = new File(todoOptionsPopUpFXML);
+
+    // The pop ups are shared by all Todobars: at most one of them is open at a time, so they
+    // are loaded on the first click and re-targeted at the clicked Todobar's task on each show
+    private static JFXPopup actionPopUp;
+    private static TodobarPopUpController actionPopUpController;
+    private static JFXPopup optionsPopUp;
+    private static ViewOptionsPopUpController optionsPopUpController;
     
     @FXML
     private Label descriptionLabel;
@@ -42,9 +47,6 @@ public class TodobarController implements Initializable {
     private StackPane todoOptionsPopUpBurger;
     
     private Task task;
-
-    private JFXPopup actionPopUp;
-    private JFXPopup optionsPopUp;
     
     // REQUIRES: task != null
     // MODIFIES: this
@@ -57,39 +59,48 @@ public class TodobarController implements Initializable {
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        loadActionPopUp();
         loadActionPopUpListener();
-        loadOptionsPopUp();
         loadOptionsPopUpListener();
     }
 
-    // EFFECTS: load options pop up (setting, exit)
-    private void loadActionPopUp() {
+    // EFFECTS: load options pop up (setting, exit), unless it has already been loaded
+    private static void loadActionPopUp() {
+        if (actionPopUp != null) {
+            return;
+        }
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(todoActionsPopUpFxmlFile.toURI().toURL());
-            fxmlLoader.setController(new TodobarPopUpController());
+            actionPopUpController = new TodobarPopUpController();
+            fxmlLoader.setController(actionPopUpController);
             actionPopUp = new JFXPopup(fxmlLoader.load());
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
     }
 
-    // EFFECTS: load view selector pop up (list view, priority view, status view)
-    private void loadOptionsPopUp() {
+    // EFFECTS: load view selector pop up (list view, priority view, status view),
+    //          unless it has already been loaded
+    private static void loadOptionsPopUp() {
+        if (optionsPopUp != null) {
+            return;
+        }
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(todoOptionsPopUpFxmlFile.toURI().toURL());
-            fxmlLoader.setController(new ViewOptionsPopUpController());
+            optionsPopUpController = new ViewOptionsPopUpController();
+            fxmlLoader.setController(optionsPopUpController);
             optionsPopUp = new JFXPopup(fxmlLoader.load());
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
     }
 
-    // EFFECTS: show view selector pop up when its icon is clicked
+    // EFFECTS: show view selector pop up for this Todobar's task when its icon is clicked
     private void loadOptionsPopUpListener() {
         todoOptionsPopUpBurger.setOnMouseClicked(new EventHandler<MouseEvent>() {
             @Override
             public void handle(MouseEvent e) {
+                loadOptionsPopUp();
+                optionsPopUpController.setTask(task);
                 optionsPopUp.show(todoOptionsPopUpBurger,
                         JFXPopup.PopupVPosition.TOP,
                         JFXPopup.PopupHPosition.LEFT,
@@ -99,11 +110,13 @@ public class TodobarController implements Initializable {
         });
     }
 
-    // EFFECTS: show options pop up when its icon is clicked
+    // EFFECTS: show options pop up for this Todobar's task when its icon is clicked
     private void loadActionPopUpListener() {
         todoActionsPopUpBurger.setOnMouseClicked(new EventHandler<MouseEvent>() {
             @Override
             public void handle(MouseEvent e) {
+                loadActionPopUp();
+                actionPopUpController.setTask(task);
                 actionPopUp.show(todoActionsPopUpBurger,
                         JFXPopup.PopupVPosition.TOP,
                         JFXPopup.PopupHPosition.RIGHT,
@@ -114,23 +127,32 @@ public class TodobarController implements Initializable {
     }
 
     // Inner class: view selector pop up controller
-    class ViewOptionsPopUpController {
+    static class ViewOptionsPopUpController {
         @FXML
         private JFXListView<?> optionPopUpList;
 
+        private Task task;
+
+        // MODIFIES: this
+        // EFFECTS: targets the selected option at task
+        void setTask(Task task) {
+            this.task = task;
+        }
+
         @FXML
         private void submit() {
             int selectedIndex = optionPopUpList.getSelectionModel().getSelectedIndex();
             switch (selectedIndex) {
                 case 0:
                     Logger.log("TodobarOptionsPopUpController", "Edit task has been selected");
-                    PomoTodoApp.setScene(new EditTask(task));
+                    PomoTodoApp.showEditTask(task);
                     break;
                 case 1:
                     Logger.log("TodobarOptionsPopUpController", "Task has been deleted");
-                    PomoTodoApp.getTasks().remove(task);
-                    JsonFileIO.write(PomoTodoApp.getTasks());
-                    PomoTodoApp.setScene(new ListView(PomoTodoApp.getTasks()));
+                    if (PomoTodoApp.getTasks().delete(task.getId()) != null) {
+                        PersistenceExecutor.logDelete(task.getId());
+                    }
+                    PomoTodoApp.showListView();
                     break;
                 default:
                     Logger.log("TodobarOptionsPopUpController", "No action is implemented for the selected option");
@@ -140,10 +162,18 @@ public class TodobarController implements Initializable {
     }
 
     // Inner class: option pop up controller
-    class TodobarPopUpController {
+    static class TodobarPopUpController {
         @FXML
         private JFXListView<?> actionPopUpList;
 
+        private Task task;
+
+        // MODIFIES: this
+        // EFFECTS: targets the selected action at task
+        void setTask(Task task) {
+            this.task = task;
+        }
+
         @FXML
         private void submit() {
             int selectedIndex = actionPopUpList.getSelectionModel().getSelectedIndex();
@@ -11,6 +11,8 @@ import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
+import model.TaskStore;
+import ui.PomoTodoApp;
 import utility.Logger;
 
 import java.io.File;
@@ -106,12 +108,15 @@ public class ToolbarController implements Initializable {
             switch (selectedIndex) {
                 case 0:
                     Logger.log("ToolbarActionsPopUpController", "List View Selected");
+                    PomoTodoApp.showListView();
                     break;
                 case 1:
-                    Logger.log("ToolbarActionsPopUpController", "Priority View is not supported in this version!");
+                    Logger.log("ToolbarActionsPopUpController", "Priority View Selected");
+                    PomoTodoApp.showListView(TaskStore::getTasksByPriority);
                     break;
                 case 2:
-                    Logger.log("ToolbarActionsPopUpController", "Status View is not supported in this version!");
+                    Logger.log("ToolbarActionsPopUpController", "Status View Selected");
+                    PomoTodoApp.showListView(TaskStore::getTasksByStatus);
                     break;
                 default:
                     Logger.log("ToolbarActionsPopUpController", "No action is implemented for the selected option");
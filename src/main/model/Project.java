@@ -6,10 +6,20 @@ import model.exceptions.NullArgumentException;
 import java.util.*;
 
 // Represents a Project, a collection of zero or more Tasks
-// Class Invariant: no duplicated task; order of tasks is preserved
+// Class Invariant: no duplicated task; order of tasks is preserved;
+//     progressSum is the sum of the progress of all tasks in this project;
+//     etcHours is the sum of the estimated time to complete of all tasks in this project;
+//     every task is in exactly the quadrant matching its priority, and the tasks of
+//     a quadrant are in the order in which they were added to this project
 public class Project extends Todo implements Iterable<Todo>, Observer {
+    static final int NUMBER_OF_QUADRANTS = 4;
+
     private String description;
-    private List<Todo> tasks;
+    private Map<Todo, Todo> tasks;  // each task mapped to itself, in insertion order
+    private Map<Todo, Long> sequence;  // the order in which each task was added
+    private List<NavigableMap<Long, Todo>> quadrants;  // important & urgent, important, urgent, neither
+    private long nextSequence;
+    private int progressSum;
     
     // MODIFIES: this
     // EFFECTS: constructs a project with the given description
@@ -21,16 +31,39 @@ public class Project extends Todo implements Iterable<Todo>, Observer {
             throw new EmptyStringException("Cannot construct a project with no description");
         }
         this.description = description;
-        tasks = new ArrayList<>();
+        tasks = new LinkedHashMap<>();
+        sequence = new IdentityHashMap<>();
+        quadrants = new ArrayList<>(NUMBER_OF_QUADRANTS);
+        for (int i = 0; i < NUMBER_OF_QUADRANTS; i++) {
+            quadrants.add(new TreeMap<>());
+        }
     }
     
     // MODIFIES: this
     // EFFECTS: task is added to this project (if it was not already part of it)
     //   throws NullArgumentException when task is null
     public void add(Todo task) {
-        if (!contains(task) && task != this) {
-            tasks.add(task);
-            task.addObserver(this);
+        int oldProgress = getProgress();
+        int oldEtc = etcHours;
+        if (insert(task)) {
+            notifyChanges(getProgress() - oldProgress, etcHours - oldEtc);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: every task in tasks is added to this project (if it was not already part of it),
+    //     in iteration order; the projects containing this project are notified once
+    //   throws NullArgumentException when tasks or any task in it is null
+    public void addAll(Collection<? extends Todo> tasks) {
+        checkNoNulls(tasks);
+        int oldProgress = getProgress();
+        int oldEtc = etcHours;
+        boolean changed = false;
+        for (Todo td : tasks) {
+            changed |= insert(td);
+        }
+        if (changed) {
+            notifyChanges(getProgress() - oldProgress, etcHours - oldEtc);
         }
     }
     
@@ -38,8 +71,92 @@ public class Project extends Todo implements Iterable<Todo>, Observer {
     // EFFECTS: removes task from this project
     //   throws NullArgumentException when task is null
     public void remove(Todo task) {
-        if (contains(task)) {
-            tasks.remove(task);
+        int oldProgress = getProgress();
+        int oldEtc = etcHours;
+        if (delete(task)) {
+            notifyChanges(getProgress() - oldProgress, etcHours - oldEtc);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every task in tasks from this project;
+    //     the projects containing this project are notified once
+    //   throws NullArgumentException when tasks or any task in it is null
+    public void removeAll(Collection<? extends Todo> tasks) {
+        checkNoNulls(tasks);
+        int oldProgress = getProgress();
+        int oldEtc = etcHours;
+        boolean changed = false;
+        for (Todo td : tasks) {
+            changed |= delete(td);
+        }
+        if (changed) {
+            notifyChanges(getProgress() - oldProgress, etcHours - oldEtc);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to this project without notifying observers;
+    //     returns true if task was not already part of it
+    //   throws NullArgumentException when task is null
+    private boolean insert(Todo task) {
+        if (contains(task) || task == this) {
+            return false;
+        }
+        tasks.put(task, task);
+        sequence.put(task, nextSequence);
+        quadrants.get(quadrantOf(task.getPriority())).put(nextSequence, task);
+        nextSequence++;
+        task.addObserver(this);
+        progressSum += task.getProgress();
+        etcHours += task.getReportedEstimatedTimeToComplete();  // a change pending in a batch arrives on commit
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from this project without notifying observers;
+    //     returns true if task was part of it
+    //   throws NullArgumentException when task is null
+    private boolean delete(Todo task) {
+        if (!contains(task)) {
+            return false;
+        }
+        Todo removed = tasks.remove(task);
+        Long order = sequence.remove(removed);
+        for (NavigableMap<Long, Todo> quadrant : quadrants) {
+            quadrant.remove(order);
+        }
+        removed.deleteObserver(this);
+        progressSum -= removed.getProgress();
+        etcHours -= removed.getReportedEstimatedTimeToComplete();  // a change pending in a batch no longer arrives
+        return true;
+    }
+
+    // EFFECTS: returns the index of the Eisenhower quadrant of priority, in the order
+    //     important & urgent, important, urgent, neither
+    static int quadrantOf(Priority priority) {
+        return (priority.isImportant() ? 0 : 2) + (priority.isUrgent() ? 0 : 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves task into the quadrant matching its current priority; within a quadrant
+    //     tasks stay in the order in which they were added to this project
+    private void reprioritize(Todo task) {
+        Long order = sequence.get(task);
+        NavigableMap<Long, Todo> target = quadrants.get(quadrantOf(task.getPriority()));
+        if (order == null || target.containsKey(order)) {
+            return;
+        }
+        for (NavigableMap<Long, Todo> quadrant : quadrants) {
+            quadrant.remove(order);
+        }
+        target.put(order, task);
+    }
+
+    // EFFECTS: throws NullArgumentException if tasks or any task in it is null
+    private static void checkNoNulls(Collection<? extends Todo> tasks) {
+        if (tasks == null || tasks.contains(null)) {
+            throw new NullArgumentException("Illegal argument: tasks is or contains null");
         }
     }
     
@@ -64,20 +181,35 @@ public class Project extends Todo implements Iterable<Todo>, Observer {
 //     the percentage of completion (rounded down to the nearest integer).
 //     the value returned is the average of the percentage of completion of
 //     all the tasks and sub-projects in this project.
+//     The sum is maintained as tasks change, so this takes constant time.
     public int getProgress() {
-        int totalProgress = 0;
-        int totalTasks = 0;
         if (tasks.size() > 0) {
-            for (Todo td: tasks) {
-                totalProgress += td.getProgress();
-                totalTasks++;
-            }
-            return totalProgress / totalTasks;
+            return progressSum / tasks.size();
         } else {
             return 0;
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds delta to the estimated time to complete of this project and notifies the projects
+    //     containing this project, unless the change is collected for a batch being committed
+    private void updateEstimate(int delta) {
+        etcHours += delta;
+        if (!collectChange(delta)) {
+            notifyChanges(0, delta);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the deltas of a change of the progress and the estimated time to complete of a task
+    //     in this project and notifies the projects containing this project once, if either changed
+    private void updateProgressAndEstimate(int progressDelta, int etcDelta) {
+        int oldProgress = getProgress();
+        progressSum += progressDelta;
+        etcHours += etcDelta;
+        notifyChanges(getProgress() - oldProgress, etcDelta);
+    }
+
 
     // EFFECTS: returns the number of tasks (and sub-projects) in this project
     public int getNumberOfTasks() {
@@ -96,7 +228,7 @@ public class Project extends Todo implements Iterable<Todo>, Observer {
         if (task == null) {
             throw new NullArgumentException("Illegal argument: task is null");
         }
-        return tasks.contains(task);
+        return tasks.containsKey(task);
     }
     
     @Override
@@ -123,121 +255,50 @@ public class Project extends Todo implements Iterable<Todo>, Observer {
 
     @Override
     public void update(Observable o, Object arg) {
-        int etc = 0;
-        for (Todo td: tasks) {
-            etc += td.getEstimatedTimeToComplete();
+        if (!(arg instanceof TodoChange)) {
+            return;
+        }
+        TodoChange change = (TodoChange) arg;
+        switch (change.getKind()) {
+            case PRIORITY:
+                reprioritize((Todo) o);
+                break;
+            case PROGRESS:
+            case PROGRESS_AND_ESTIMATE:
+                updateProgressAndEstimate(change.getDelta(), change.getEstimateDelta());
+                break;
+            case ESTIMATE_PENDING:
+                expectChange();
+                break;
+            case ESTIMATED_TIME_TO_COMPLETE:
+                updateEstimate(change.getDelta());
+                break;
+            default:
+                break;
         }
-        etcHours = etc;
-        setChanged();
-        notifyObservers();
     }
 
+    // Iterates over the quadrants in order of priority, and over each quadrant in the order
+    // in which its tasks were added
     private class PrioritizedIterator implements Iterator<Todo> {
-        Iterator<Todo> ti1 = tasks.iterator();
-        Iterator<Todo> ti2 = tasks.iterator();
-        Iterator<Todo> ti3 = tasks.iterator();
-        Iterator<Todo> ti4 = tasks.iterator();
-        int numImpAndUrg = 0;
-        int numImp = 0;
-        int numUrg = 0;
-        int numDef = 0;
-
-        int countImpAndUrg = 0;
-        int countImp = 0;
-        int countUrg = 0;
-        int countDef = 0;
-
-        private PrioritizedIterator() {
-            count();
-        }
-
+        private int quadrant = 0;
+        private Iterator<Todo> current = quadrants.get(0).values().iterator();
 
         @Override
         public boolean hasNext() {
-            return numImpAndUrg != countImpAndUrg || numImp != countImp || numUrg != countUrg || numDef != countDef;
-        }
-
-        private void count() {
-            for (int i = 0; i < tasks.size(); i++) {
-                if (tasks.get(i).getPriority().isImportant() && tasks.get(i).getPriority().isUrgent()) {
-                    countImpAndUrg++;
-                } else if (tasks.get(i).getPriority().isImportant() && !tasks.get(i).getPriority().isUrgent()) {
-                    countImp++;
-                } else if (!tasks.get(i).getPriority().isImportant() && tasks.get(i).getPriority().isUrgent()) {
-                    countUrg++;
-                } else if (!tasks.get(i).getPriority().isImportant() && !tasks.get(i).getPriority().isUrgent()) {
-                    countDef++;
-                }
+            while (!current.hasNext() && quadrant < NUMBER_OF_QUADRANTS - 1) {
+                quadrant++;
+                current = quadrants.get(quadrant).values().iterator();
             }
+            return current.hasNext();
         }
 
-
         @Override
         public Todo next() {
             if (!this.hasNext()) {
                 throw new NoSuchElementException();
             }
-            Todo td = null;
-            if (numImpAndUrg != countImpAndUrg) {
-                numImpAndUrg++;
-                td = findImpAndUrg();
-            } else if (numImp != countImp) {
-                numImp++;
-                td = findImp();
-            } else if (numUrg != countUrg) {
-                numUrg++;
-                td = findUrg();
-            } else if (numDef != countDef) {
-                numDef++;
-                td = findDef();
-            }
-            return td;
-        }
-
-        // EFFECT: iterates through tasks for default Todo
-        private Todo findDef() {
-            while (ti4.hasNext()) {
-                Todo td = ti4.next();
-                if (!td.getPriority().isUrgent() && !td.getPriority().isImportant()) {
-                    return td;
-                }
-            }
-            return null;
-        }
-
-        // EFFECT: iterates through tasks for urgent and not important Todo
-        private Todo findUrg() {
-            while (ti3.hasNext()) {
-                Todo td = ti3.next();
-                if (td.getPriority().isUrgent() && !td.getPriority().isImportant()) {
-                    return td;
-                }
-            }
-            return null;
+            return current.next();
         }
-
-        // EFFECT: iterates through tasks for important and not urgent Todo
-        private Todo findImp() {
-            while (ti2.hasNext()) {
-                Todo td = ti2.next();
-                if (!td.getPriority().isUrgent() && td.getPriority().isImportant()) {
-                    return td;
-                }
-            }
-            return null;
-        }
-
-        // EFFECT: iterates through tasks for important and urgent Todo
-        private Todo findImpAndUrg() {
-            while (ti1.hasNext()) {
-                Todo td = ti1.next();
-                if (td.getPriority().isUrgent() && td.getPriority().isImportant()) {
-                    return td;
-                }
-            }
-            return null;
-        }
-
-
     }
-}
\ No newline at end of file
+}
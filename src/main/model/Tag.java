@@ -85,6 +85,6 @@ public class Tag {
     
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return name.hashCode();
     }
 }
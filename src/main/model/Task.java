@@ -4,19 +4,31 @@ import model.exceptions.EmptyStringException;
 import model.exceptions.InvalidProgressException;
 import model.exceptions.NegativeInputException;
 import model.exceptions.NullArgumentException;
-import parsers.Parser;
-import parsers.TagParser;
-import parsers.exceptions.ParsingException;
+import parsers.DescriptionParser;
+import parsers.ParsedDescription;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
-// Represents a Task having a description, status, priorities, set of tags and due date.
+// Represents a Task having an id, a description, status, priorities, set of tags and due date.
+// The id never changes and identifies the task: two tasks are equal if they have the same id,
+// so tasks stay in place in hashed collections when their other fields change.
 public class Task extends Todo {
     public static final DueDate NO_DUE_DATE = null;
+    public static final long NO_DUE_MINUTE = Long.MIN_VALUE;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
 
+    private static final AtomicLong nextId = new AtomicLong(1);
+    private static final DescriptionParser descriptionParser = new DescriptionParser(1024);
+
+    private final long id;
+    private final int hash;
     private String description;
-    private Set<Tag> tags;
+    private Map<String, Tag> tags;  // each tag keyed by its name
+    private Set<Tag> tagView;
     private DueDate dueDate;
+    private long dueMinute;  // dueDate in minutes since the epoch, or NO_DUE_MINUTE
+    private boolean dueDateShared;  // dueDate has been returned by getDueDate, so it may be changed in place
     private Status status;
 
     // MODIFIES: this
@@ -26,34 +38,80 @@ public class Task extends Todo {
     //    status of 'To Do', and default priority level (i.e., not important nor urgent)
     //  throws EmptyStringException if description is null or empty
     public Task(String description) {
+        this(nextId.getAndIncrement(), description);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: constructs a task with the given id (e.g., one read back from a file) and description,
+    //    as Task(description) does; tasks constructed afterwards get ids greater than id
+    //  throws NegativeInputException if id is not positive
+    //  throws EmptyStringException if description is null or empty
+    public Task(long id, String description) {
+        this(id, description, new Priority(4), Status.TODO, NO_DUE_DATE);
+        setDescription(description);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: constructs a task with the given description, priority, status and due date
+    //    (which may be NO_DUE_DATE), and no tags; description is taken as is, without parsing it
+    //    for meta-data, which is how tasks whose fields are already known (e.g., read back from
+    //    a file) are constructed
+    //  throws EmptyStringException if description is null or empty
+    //  throws NullArgumentException if priority or status is null
+    public Task(String description, Priority priority, Status status, DueDate dueDate) {
+        this(nextId.getAndIncrement(), description, priority, status, dueDate);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: constructs a task with the given id and otherwise as
+    //    Task(description, priority, status, dueDate) does; tasks constructed afterwards get ids greater than id
+    //  throws NegativeInputException if id is not positive
+    //  throws EmptyStringException if description is null or empty
+    //  throws NullArgumentException if priority or status is null
+    public Task(long id, String description, Priority priority, Status status, DueDate dueDate) {
         super(description);
+        if (id < 1) {
+            throw new NegativeInputException("Task id must be positive");
+        }
         if (description == null || description.length() == 0) {
             throw new EmptyStringException("Cannot construct a task with no description");
         }
+        if (priority == null || status == null) {
+            throw new NullArgumentException("Illegal argument: priority or status is null");
+        }
+        nextId.accumulateAndGet(id + 1, Math::max);
+        this.id = id;
+        hash = Long.hashCode(id);
         this.description = description;
-        tags = new HashSet<>();
-        dueDate = NO_DUE_DATE;
-        priority = new Priority(4);
-        status = Status.TODO;
-        setDescription(description);
+        tags = new HashMap<>();
+        tagView = new TagSet();
+        this.dueDate = copyOf(dueDate);
+        dueMinute = epochMinuteOf(dueDate);
+        this.priority = priority;
+        this.status = status;
     }
 
 
     // MODIFIES: this
-    // EFFECTS: creates a tag with name tagName and adds it to this task
+    // EFFECTS: adds a tag with name tagName to this task, unless it already has one;
+    //     the tasks having a tag are indexed by the TaskStore holding them (see TaskStore.getTasksTagged)
     //  throws EmptyStringException if tagName is null or empty
     // Note: no two tags are to have the same name
     public void addTag(String tagName) {
-        addTag(new Tag(tagName));
+        if (!containsTag(tagName)) {
+            addTag(new Tag(tagName));
+        }
     }
     
     // MODIFIES: this
     // EFFECTS: adds tag to this task if it is not already exist
+    //     and notifies the observers of this task of the change
     //  throws NullArgumentException if tag is null
     public void addTag(Tag tag) {
         if (!containsTag(tag)) {
-            tags.add(tag);
+            tags.put(tag.getName(), tag);
             tag.addTask(this);
+            notifyChange(TodoChange.Kind.TAGS, 0);
         }
     }
     
@@ -61,27 +119,35 @@ public class Task extends Todo {
     // EFFECTS: removes the tag with name tagName from this task
     //  throws EmptyStringException if tagName is empty or null
     public void removeTag(String tagName) {
-        removeTag(new Tag(tagName));
+        if (containsTag(tagName)) {
+            removeTag(tags.get(tagName));
+        }
     }
     
     // MODIFIES: this
     // EFFECTS: removes tag from this task
+    //     and notifies the observers of this task of the change
     //  throws NullArgumentException if tag is null
     public void removeTag(Tag tag) {
         if (containsTag(tag)) {
-            tags.remove(tag);
-            tag.removeTask(this);
+            tags.remove(tag.getName()).removeTask(this);
+            notifyChange(TodoChange.Kind.TAGS, 0);
         }
     }
     
     // EFFECTS: returns an unmodifiable set of tags
     public Set<Tag> getTags() {
-        return Collections.unmodifiableSet(tags);
+        return tagView;
     }
 
 
 
 
+    // EFFECTS: returns the id of this task
+    public long getId() {
+        return id;
+    }
+
     // EFFECTS: returns the status of this task
     public Status getStatus() {
         return status;
@@ -89,12 +155,14 @@ public class Task extends Todo {
 
     // MODIFIES: this
     // EFFECTS: sets the status of this task
+    //     and notifies the observers of this task (e.g., the TaskStore holding it) of the change
     //   throws NullArgumentException when status is null
     public void setStatus(Status status) {
         if (status == null) {
             throw new NullArgumentException("Illegal argument: status is null");
         }
         this.status = status;
+        notifyChange(TodoChange.Kind.STATUS, 0);
     }
 
     // EFFECTS: returns the description of this task
@@ -104,12 +172,17 @@ public class Task extends Todo {
 
     // MODIFIES: this
 // EFFECTS: sets the progress made towards the completion of this task
+//     and notifies the projects containing this task of the change
 //  throws InvalidProgressException if !(0 <= progress <= 100)
     public void setProgress(int progress) {
         if (progress < 0 || progress > 100) {
             throw new InvalidProgressException("Given progress is not a valid percentage");
         } else {
+            int delta = progress - this.progress;
             this.progress = progress;
+            if (delta != 0) {
+                notifyChange(TodoChange.Kind.PROGRESS, delta);
+            }
         }
     }
 
@@ -120,9 +193,9 @@ public class Task extends Todo {
         if (hours < 0) {
             throw new NegativeInputException("Cannot have a negative amount of hours");
         } else {
+            int delta = hours - etcHours;
             etcHours = hours;
-            setChanged();
-            notifyObservers();
+            notifyChange(TodoChange.Kind.ESTIMATED_TIME_TO_COMPLETE, delta);
         }
     }
 
@@ -148,15 +221,44 @@ public class Task extends Todo {
         parseDescription(description);
     }
 
-    // EFFECTS: returns the due date of this task
+    // EFFECTS: returns the due date of this task, or NO_DUE_DATE if it has none
+    // Note: changes made to the returned due date in place (e.g., by TagParser postponing it)
+    //     change this task and are seen by getDueMinute; the TaskStore holding this task only
+    //     re-indexes it when notified of a change, so call setDueDate after changing it in place
     public DueDate getDueDate() {
+        dueDateShared = dueDate != null;
         return dueDate;
     }
 
     // MODIFIES: this
-    // EFFECTS: sets the due date of this task
+    // EFFECTS: sets the due date of this task to a copy of dueDate
+    //     and notifies the observers of this task (e.g., the TaskStore holding it) of the change
     public void setDueDate(DueDate dueDate) {
-        this.dueDate = dueDate;
+        this.dueDate = copyOf(dueDate);
+        dueMinute = epochMinuteOf(dueDate);
+        dueDateShared = false;
+        notifyChange(TodoChange.Kind.DUE_DATE, 0);
+    }
+
+    // EFFECTS: returns the due date of this task in whole minutes since 1970-01-01T00:00Z,
+    //     or NO_DUE_MINUTE if this task has no due date
+    //     (unlike getDueDate().getDate(), this allocates nothing unless the due date has been
+    //     returned by getDueDate since it was last set, in which case it is read again)
+    public long getDueMinute() {
+        if (dueDateShared) {
+            dueMinute = epochMinuteOf(dueDate);
+        }
+        return dueMinute;
+    }
+
+    // EFFECTS: returns a due date at the same minute as dueDate, or NO_DUE_DATE if it is NO_DUE_DATE
+    private static DueDate copyOf(DueDate dueDate) {
+        return dueDate == null ? NO_DUE_DATE : new DueDate(dueDate.getDate());
+    }
+
+    // EFFECTS: returns dueDate in whole minutes since the epoch, or NO_DUE_MINUTE if it is NO_DUE_DATE
+    private static long epochMinuteOf(DueDate dueDate) {
+        return dueDate == null ? NO_DUE_MINUTE : Math.floorDiv(dueDate.getDate().getTime(), MILLIS_PER_MINUTE);
     }
 
     // EFFECTS: returns true if task contains a tag with tagName,
@@ -166,7 +268,7 @@ public class Task extends Todo {
         if (tagName == null || tagName.length() == 0) {
             throw new EmptyStringException("Tag name cannot be empty or null");
         }
-        return containsTag(new Tag(tagName));
+        return tags.containsKey(tagName);
     }
     
     // EFFECTS: returns true if task contains this tag,
@@ -176,19 +278,19 @@ public class Task extends Todo {
         if (tag == null) {
             throw new NullArgumentException("Invalid Argument: tag cannot be null");
         }
-        return tags.contains(tag);
+        return tags.containsKey(tag.getName());
     }
 
     // REQUIRES: description is non-empty
     // MODIFIES: this
     // EFFECTS: parses the description to extract meta-data (i.e., tags, status, priority and deadline).
+    //     Recent parses are remembered by descriptionParser, so repeated descriptions are parsed once.
     private void parseDescription(String description) {
-        Parser parser = new TagParser();
-        try {
-            parser.parse(description, this);
-            this.description = parser.getDescription();
-        } catch (ParsingException e) {
-            this.description = description;
+        ParsedDescription parsed = descriptionParser.parse(description);
+        this.description = parsed.getDescription();
+        if (parsed.hasMetadata()) {
+            parsed.applyTo(this);
+            notifyChange(TodoChange.Kind.PRIORITY, 0);
         }
     }
 
@@ -238,17 +340,29 @@ public class Task extends Todo {
         if (!(o instanceof Task)) {
             return false;
         }
-        Task task = (Task) o;
-        return Objects.equals(description, task.description)
-                // && Objects.equals(tags, task.tags)
-                && Objects.equals(dueDate, task.dueDate)
-                && Objects.equals(priority, task.priority)
-                && status == task.status;
+        return id == ((Task) o).id;
     }
     
     @Override
     public int hashCode() {
-        // return Objects.hash(description, tags, dueDate, priority, status);
-        return Objects.hash(description, dueDate, priority, status);
+        return hash;
+    }
+
+    // Unmodifiable view of the tags of this task as a set of tags
+    private class TagSet extends AbstractSet<Tag> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Tag && tags.containsKey(((Tag) o).getName());
+        }
+
+        @Override
+        public Iterator<Tag> iterator() {
+            return Collections.unmodifiableCollection(tags.values()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return tags.size();
+        }
     }
 }
@@ -0,0 +1,443 @@
+package model;
+
+import model.exceptions.EmptyStringException;
+import model.exceptions.NullArgumentException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.TreeMap;
+
+// Represents the tasks of the application, indexed by id
+// Tasks are kept in display order (the order in which they were added); getting, updating
+// and deleting a task by id take constant time. Secondary indexes by status, by priority
+// quadrant, by due date and by tag are kept up to date as stored tasks change (the store observes
+// them), so the views they serve take time proportional to the number of tasks returned.
+// The due date index is keyed by the due minute cached in each task, so the due date
+// queries (e.g. overdue, due today) are range lookups that create no date objects per task.
+// Observers of the store are notified of every task added, removed or updated with a TaskStoreChange
+// giving the index of the task in display order, which is counted in logarithmic time.
+// Class Invariant: every task is stored under its own id; no two tasks have the same id;
+//     every task is in exactly the index entries matching its current status, priority, due date and tags,
+//     and within an index entry tasks are in display order
+public class TaskStore extends Observable implements Iterable<Task>, Observer {
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private Map<Long, Task> tasks;
+    private Map<Long, Position> positions;  // where each task is in the secondary indexes
+    private Map<Status, NavigableMap<Long, Task>> byStatus;
+    private List<NavigableMap<Long, Task>> byQuadrant;  // important & urgent, important, urgent, neither
+    private NavigableMap<Long, NavigableMap<Long, Task>> byDueDate;  // due minute, tasks with a due date only
+    private Map<String, NavigableMap<Long, Task>> byTag;  // tag name, tasks with a tag only
+    private SequenceCounter displayOrder;  // the sequences of the stored tasks
+    private long nextSequence;
+
+    // EFFECTS: constructs an empty task store
+    public TaskStore() {
+        tasks = new LinkedHashMap<>();
+        positions = new HashMap<>();
+        byStatus = new EnumMap<>(Status.class);
+        for (Status s : Status.values()) {
+            byStatus.put(s, new TreeMap<>());
+        }
+        byQuadrant = new ArrayList<>(Project.NUMBER_OF_QUADRANTS);
+        for (int i = 0; i < Project.NUMBER_OF_QUADRANTS; i++) {
+            byQuadrant.add(new TreeMap<>());
+        }
+        byDueDate = new TreeMap<>();
+        byTag = new HashMap<>();
+        displayOrder = new SequenceCounter();
+    }
+
+    // EFFECTS: constructs a task store holding tasks, in iteration order;
+    //     a task whose id is already held by an earlier task is ignored
+    //   throws NullArgumentException when tasks or any task in it is null
+    public TaskStore(Collection<Task> tasks) {
+        this();
+        if (tasks == null) {
+            throw new NullArgumentException("Illegal argument: tasks is null");
+        }
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: adds task at the end of this store and returns true,
+    //     unless a task with the same id is already stored, in which case returns false
+    //   throws NullArgumentException when task is null
+    public boolean add(Task task) {
+        checkNotNull(task);
+        if (tasks.putIfAbsent(task.getId(), task) != null) {
+            return false;
+        }
+        long sequence = nextSequence++;
+        index(task, sequence);
+        task.addObserver(this);
+        notifyChange(TaskStoreChange.Kind.ADDED, task, sequence);
+        return true;
+    }
+
+    // EFFECTS: returns the task with the given id, or null if there is none
+    public Task get(long id) {
+        return tasks.get(id);
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: replaces the stored task having the id of task with task, keeping its position,
+    //     and returns true; returns false (and stores nothing) if no task has that id
+    //   throws NullArgumentException when task is null
+    public boolean update(Task task) {
+        checkNotNull(task);
+        Task old = tasks.replace(task.getId(), task);
+        if (old == null) {
+            return false;
+        }
+        old.deleteObserver(this);
+        long sequence = unindex(old).sequence;
+        index(task, sequence);
+        task.addObserver(this);
+        notifyChange(TaskStoreChange.Kind.UPDATED, task, sequence);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the task with the given id and returns it, or returns null if there is none
+    public Task delete(long id) {
+        Task removed = tasks.remove(id);
+        if (removed != null) {
+            removed.deleteObserver(this);
+            notifyChange(TaskStoreChange.Kind.REMOVED, removed, unindex(removed).sequence);
+        }
+        return removed;
+    }
+
+    // EFFECTS: returns true if a task with the given id is stored
+    public boolean contains(long id) {
+        return tasks.containsKey(id);
+    }
+
+    // EFFECTS: returns the number of stored tasks
+    public int size() {
+        return tasks.size();
+    }
+
+    // EFFECTS: returns true if no task is stored
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    // EFFECTS: returns an unmodifiable view of the stored tasks, in display order
+    public Collection<Task> getTasks() {
+        return Collections.unmodifiableCollection(tasks.values());
+    }
+
+    // EFFECTS: returns an unmodifiable view of the stored tasks having the given status, in display order
+    //   throws NullArgumentException when status is null
+    public Collection<Task> getTasks(Status status) {
+        if (status == null) {
+            throw new NullArgumentException("Illegal argument: status is null");
+        }
+        return Collections.unmodifiableCollection(byStatus.get(status).values());
+    }
+
+    // EFFECTS: returns an unmodifiable view of the stored tasks that are as important and as urgent
+    //     as priority, in display order
+    //   throws NullArgumentException when priority is null
+    public Collection<Task> getTasksWithPriority(Priority priority) {
+        if (priority == null) {
+            throw new NullArgumentException("Illegal argument: priority is null");
+        }
+        return Collections.unmodifiableCollection(byQuadrant.get(Project.quadrantOf(priority)).values());
+    }
+
+    // EFFECTS: returns an unmodifiable view of the stored tasks tagged with the given name, in display order
+    //   throws EmptyStringException when name is null or empty
+    public Collection<Task> getTasksTagged(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new EmptyStringException("Tag name cannot be empty or null");
+        }
+        NavigableMap<Long, Task> tagged = byTag.get(name);
+        return tagged == null ? Collections.emptyList() : Collections.unmodifiableCollection(tagged.values());
+    }
+
+    // EFFECTS: returns the stored tasks grouped by status, in the order of Status.values(),
+    //     and in display order within each status
+    public List<Task> getTasksByStatus() {
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (NavigableMap<Long, Task> bucket : byStatus.values()) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the stored tasks grouped by priority (important & urgent, important,
+    //     urgent, neither), and in display order within each priority
+    public List<Task> getTasksByPriority() {
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (NavigableMap<Long, Task> bucket : byQuadrant) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the stored tasks that have a due date, earliest due first;
+    //     tasks due at the same time are in display order
+    public List<Task> getTasksByDueDate() {
+        return collectDue(byDueDate);
+    }
+
+    // EFFECTS: returns the stored tasks due strictly before date, earliest due first;
+    //     tasks due at the same time are in display order
+    //     due dates are compared to the minute: a task is due before date if its due minute started before date
+    //   throws NullArgumentException when date is null
+    public List<Task> getTasksDueBefore(Date date) {
+        if (date == null) {
+            throw new NullArgumentException("Illegal argument: date is null");
+        }
+        return dueBefore(date.getTime());
+    }
+
+    // EFFECTS: returns the stored tasks that are overdue now, earliest due first
+    public List<Task> getOverdueTasks() {
+        return getOverdueTasks(Clock.systemDefaultZone());
+    }
+
+    // EFFECTS: returns the stored tasks that are overdue at the time of clock, earliest due first
+    List<Task> getOverdueTasks(Clock clock) {
+        return dueBefore(clock.millis());
+    }
+
+    // EFFECTS: returns the stored tasks due today (including those overdue earlier today), earliest due first
+    public List<Task> getTasksDueToday() {
+        return getTasksDueToday(Clock.systemDefaultZone());
+    }
+
+    // EFFECTS: returns the stored tasks due on the day of clock, in its time zone, earliest due first
+    List<Task> getTasksDueToday(Clock clock) {
+        return dueOnDays(clock, 1);
+    }
+
+    // EFFECTS: returns the stored tasks due from today to 6 days from today, earliest due first,
+    //     as DueDate.isDueWithinAWeek counts them
+    public List<Task> getTasksDueWithinAWeek() {
+        return getTasksDueWithinAWeek(Clock.systemDefaultZone());
+    }
+
+    // EFFECTS: returns the stored tasks due in the 7 days starting on the day of clock,
+    //     in its time zone, earliest due first
+    List<Task> getTasksDueWithinAWeek(Clock clock) {
+        return dueOnDays(clock, 7);
+    }
+
+    // EFFECTS: returns an iterator over the stored tasks, in display order
+    @Override
+    public Iterator<Task> iterator() {
+        return getTasks().iterator();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes a stored task whose status, priority, due date or tags have changed
+    //     and notifies the observers of this store that it was updated
+    @Override
+    public void update(Observable o, Object arg) {
+        if (!(arg instanceof TodoChange)) {
+            return;
+        }
+        switch (((TodoChange) arg).getKind()) {
+            case STATUS:
+            case PRIORITY:
+            case DUE_DATE:
+            case TAGS:
+                Task task = (Task) o;
+                if (tasks.get(task.getId()) == task) {
+                    long sequence = unindex(task).sequence;
+                    index(task, sequence);
+                    notifyChange(TaskStoreChange.Kind.UPDATED, task, sequence);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to the secondary indexes at the given position in display order
+    private void index(Task task, long sequence) {
+        Position position = new Position(sequence, task.getStatus(), Project.quadrantOf(task.getPriority()),
+                task.getDueMinute(), tagNamesOf(task));
+        positions.put(task.getId(), position);
+        displayOrder.add(sequence);
+        byStatus.get(position.status).put(sequence, task);
+        byQuadrant.get(position.quadrant).put(sequence, task);
+        if (position.due != Task.NO_DUE_MINUTE) {
+            byDueDate.computeIfAbsent(position.due, k -> new TreeMap<>()).put(sequence, task);
+        }
+        for (String name : position.tags) {
+            byTag.computeIfAbsent(name, k -> new TreeMap<>()).put(sequence, task);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from the secondary indexes and returns where it was
+    private Position unindex(Task task) {
+        Position position = positions.remove(task.getId());
+        displayOrder.remove(position.sequence);
+        byStatus.get(position.status).remove(position.sequence);
+        byQuadrant.get(position.quadrant).remove(position.sequence);
+        if (position.due != Task.NO_DUE_MINUTE) {
+            removeFrom(byDueDate, position.due, position.sequence);
+        }
+        for (String name : position.tags) {
+            removeFrom(byTag, name, position.sequence);
+        }
+        return position;
+    }
+
+    // EFFECTS: notifies the observers of this store of a change of the given kind to task,
+    //     which is (or, if it was removed, was) at the given sequence in display order
+    private void notifyChange(TaskStoreChange.Kind kind, Task task, long sequence) {
+        if (countObservers() > 0) {
+            setChanged();
+            notifyObservers(new TaskStoreChange(kind, task, displayOrder.countBefore(sequence)));
+        }
+    }
+
+    // EFFECTS: returns the stored tasks due in a minute that started before the given time in ms, in order
+    private List<Task> dueBefore(long millis) {
+        return collectDue(byDueDate.headMap(Math.floorDiv(millis - 1, MILLIS_PER_MINUTE), true));
+    }
+
+    // EFFECTS: returns the stored tasks due in the given number of days starting on the day of clock,
+    //     in its time zone, in order
+    private List<Task> dueOnDays(Clock clock, int days) {
+        ZoneId zone = clock.getZone();
+        LocalDate today = LocalDate.now(clock);
+        long from = Math.floorDiv(today.atStartOfDay(zone).toEpochSecond(), SECONDS_PER_MINUTE);
+        long to = Math.floorDiv(today.plusDays(days).atStartOfDay(zone).toEpochSecond(), SECONDS_PER_MINUTE);
+        return collectDue(byDueDate.subMap(from, true, to, false));
+    }
+
+    // EFFECTS: returns the tasks of a range of the due date index, in order
+    private static List<Task> collectDue(Map<Long, NavigableMap<Long, Task>> range) {
+        List<Task> result = new ArrayList<>();
+        for (NavigableMap<Long, Task> sameTime : range.values()) {
+            result.addAll(sameTime.values());
+        }
+        return result;
+    }
+
+    // MODIFIES: index
+    // EFFECTS: removes the task at sequence from the entry of index under key, and the entry once it is empty
+    private static <K> void removeFrom(Map<K, NavigableMap<Long, Task>> index, K key, long sequence) {
+        NavigableMap<Long, Task> entry = index.get(key);
+        entry.remove(sequence);
+        if (entry.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // EFFECTS: returns the names of the tags of task
+    private static String[] tagNamesOf(Task task) {
+        String[] names = new String[task.getTags().size()];
+        int i = 0;
+        for (Tag tag : task.getTags()) {
+            names[i++] = tag.getName();
+        }
+        return names;
+    }
+
+    // EFFECTS: throws NullArgumentException if task is null
+    private static void checkNotNull(Task task) {
+        if (task == null) {
+            throw new NullArgumentException("Illegal argument: task is null");
+        }
+    }
+
+    // The index entries of a task, as of the last time it was indexed
+    private static class Position {
+        private final long sequence;
+        private final Status status;
+        private final int quadrant;
+        private final long due;  // due minute, or Task.NO_DUE_MINUTE
+        private final String[] tags;  // tag names
+
+        Position(long sequence, Status status, int quadrant, long due, String[] tags) {
+            this.sequence = sequence;
+            this.status = status;
+            this.quadrant = quadrant;
+            this.due = due;
+            this.tags = tags;
+        }
+    }
+
+    // The set of the sequences of the stored tasks, counting the sequences before a given one in
+    // logarithmic time: a binary indexed tree over every sequence handed out, grown as needed
+    // REQUIRES: fewer than Integer.MAX_VALUE / 2 sequences are handed out
+    private static class SequenceCounter {
+        private BitSet present = new BitSet();
+        private int[] tree = new int[64];  // tree[i] counts the sequences in (i - lowestOneBit(i), i], shifted by 1
+
+        // MODIFIES: this
+        // EFFECTS: adds sequence to this set
+        void add(long sequence) {
+            if (sequence + 1 >= tree.length) {
+                grow((int) sequence + 1);
+            }
+            present.set((int) sequence);
+            update((int) sequence + 1, 1);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes sequence from this set
+        void remove(long sequence) {
+            present.clear((int) sequence);
+            update((int) sequence + 1, -1);
+        }
+
+        // EFFECTS: returns the number of sequences in this set that are smaller than sequence
+        int countBefore(long sequence) {
+            int count = 0;
+            for (int i = (int) Math.min(sequence, tree.length - 1); i > 0; i -= Integer.lowestOneBit(i)) {
+                count += tree[i];
+            }
+            return count;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds delta to the count of the node at i and of the nodes covering it
+        private void update(int i, int delta) {
+            for (; i < tree.length; i += Integer.lowestOneBit(i)) {
+                tree[i] += delta;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: rebuilds the tree large enough to hold node i
+        private void grow(int i) {
+            tree = new int[Integer.highestOneBit(i) * 2];
+            for (int j = 1; j < tree.length; j++) {
+                tree[j] += present.get(j - 1) ? 1 : 0;
+                int parent = j + Integer.lowestOneBit(j);
+                if (parent < tree.length) {
+                    tree[parent] += tree[j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+// Represents a change to a TaskStore, passed as the argument of notifyObservers
+// so that views of the store can patch only the row of the changed task, at its index in display order
+public class TaskStoreChange {
+    // ADDED: the task was added at the end of the store
+    // REMOVED: the task was deleted from the store
+    // UPDATED: the task replaced the stored task with the same id, or its status, priority or due date changed
+    public enum Kind { ADDED, REMOVED, UPDATED }
+
+    private final Kind kind;
+    private final Task task;
+    private final int index;
+
+    // EFFECTS: constructs a change of the given kind to task, which is (or was) at index in display order
+    public TaskStoreChange(Kind kind, Task task, int index) {
+        this.kind = kind;
+        this.task = task;
+        this.index = index;
+    }
+
+    // EFFECTS: returns the kind of this change
+    public Kind getKind() {
+        return kind;
+    }
+
+    // EFFECTS: returns the changed task (for REMOVED, the task that was deleted)
+    public Task getTask() {
+        return task;
+    }
+
+    // EFFECTS: returns the index of the changed task in the display order of the store
+    //     (for REMOVED, the index it had before it was deleted)
+    public int getIndex() {
+        return index;
+    }
+}
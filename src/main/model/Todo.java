@@ -2,14 +2,28 @@ package model;
 
 import model.exceptions.NullArgumentException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Observable;
 
+// Changes to the estimated time to complete can be batched: between beginBatch and
+// commitBatch they are accumulated per todo, and on commit every project above a changed
+// todo receives the deltas of all its changed children before reporting its own, once.
+// Batches are shared by all todos and, like the rest of the model, not thread-safe.
 public abstract class Todo extends Observable {
+    private static int openBatches;
+    private static List<Todo> batchSources = new ArrayList<>();
+
     protected String description;
     protected int progress;
     protected int etcHours;  // Estimated Time To Complete
     protected Priority priority;
 
+    private boolean batchSource;  // etcHours changed while a batch was open
+    private boolean announced;    // ESTIMATE_PENDING already sent during this commit
+    private int pendingDelta;     // change to etcHours not yet reported to the observers
+    private int pendingChildren;  // children that announced a change but have not reported it yet
+
     // MODIFIES: this
     // EFFECTS: sets the "description" using the given description
     //          sets "progress" and "estimated time to complete" to zero
@@ -34,17 +48,137 @@ public abstract class Todo extends Observable {
     public abstract int getProgress();
 
     // EFFECTS: returns the priority of this task
+    // Note: changes to the priority must be made through setPriority
+    //     so that the projects containing this todo can re-prioritize it
     public Priority getPriority() {
         return priority;
     }
 
+    // MODIFIES: all todos
+    // EFFECTS: opens a batch; until the matching commitBatch, changes to the estimated time
+    //     to complete are accumulated instead of being reported to the containing projects.
+    //     Batches may be nested; only the outermost commitBatch reports the changes.
+    public static void beginBatch() {
+        openBatches++;
+    }
+
+    // MODIFIES: all todos
+    // EFFECTS: closes the innermost open batch; if it is the outermost one, reports the
+    //     accumulated changes so that every affected project updates its estimated time
+    //     to complete by delta and notifies the projects containing it exactly once
+    //   throws IllegalStateException if no batch is open
+    public static void commitBatch() {
+        if (openBatches == 0) {
+            throw new IllegalStateException("No batch to commit");
+        }
+        if (--openBatches > 0) {
+            return;
+        }
+        List<Todo> sources = batchSources;
+        batchSources = new ArrayList<>();
+        for (Todo td : sources) {
+            td.announceChange();
+        }
+        for (Todo td : sources) {
+            if (td.pendingChildren == 0) {
+                td.reportChange();
+            }
+        }
+    }
+
+    // EFFECTS: returns the estimated time to complete of this todo as last reported to its observers,
+    //     i.e. without the change accumulated in an open batch, which will be reported on commit
+    int getReportedEstimatedTimeToComplete() {
+        return getEstimatedTimeToComplete() - pendingDelta;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that a child of this todo will report a change of its estimated time
+    //     to complete, and announces to the projects containing this todo that it will too
+    void expectChange() {
+        pendingChildren++;
+        announceChange();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if a child of this todo announced its change, accumulates delta and returns true;
+    //     once all children that announced a change have reported it, reports the accumulated
+    //     change of this todo. Returns false if no change was announced.
+    boolean collectChange(int delta) {
+        if (pendingChildren == 0) {
+            return false;
+        }
+        pendingDelta += delta;
+        if (--pendingChildren == 0) {
+            reportChange();
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sends ESTIMATE_PENDING to the observers of this todo, unless already sent
+    private void announceChange() {
+        if (!announced) {
+            announced = true;
+            notifyChange(TodoChange.Kind.ESTIMATE_PENDING, 0);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reports the accumulated change of the estimated time to complete of this todo
+    //     (even if it is zero, so that the observers stop waiting for it) and clears the batch state
+    private void reportChange() {
+        int delta = pendingDelta;
+        pendingDelta = 0;
+        announced = false;
+        batchSource = false;
+        notifyChange(TodoChange.Kind.ESTIMATED_TIME_TO_COMPLETE, delta);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: notifies the observers of this todo of a change of its progress by progressDelta and of
+    //     its estimated time to complete by etcDelta with a single change (none if both are zero);
+    //     while a batch is open, the change of the estimated time to complete is accumulated instead
+    protected void notifyChanges(int progressDelta, int etcDelta) {
+        if (etcDelta != 0 && (openBatches > 0 || progressDelta == 0)) {
+            notifyChange(TodoChange.Kind.ESTIMATED_TIME_TO_COMPLETE, etcDelta);
+        } else if (etcDelta != 0 && countObservers() > 0) {
+            setChanged();
+            notifyObservers(new TodoChange(TodoChange.Kind.PROGRESS_AND_ESTIMATE, progressDelta, etcDelta));
+            return;
+        }
+        if (progressDelta != 0) {
+            notifyChange(TodoChange.Kind.PROGRESS, progressDelta);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: notifies the observers of this todo (i.e., the projects containing it) of change;
+    //     while a batch is open, changes of the estimated time to complete are accumulated instead
+    protected void notifyChange(TodoChange.Kind kind, int delta) {
+        if (openBatches > 0 && kind == TodoChange.Kind.ESTIMATED_TIME_TO_COMPLETE) {
+            pendingDelta += delta;
+            if (!batchSource) {
+                batchSource = true;
+                batchSources.add(this);
+            }
+            return;
+        }
+        if (countObservers() > 0) {
+            setChanged();
+            notifyObservers(new TodoChange(kind, delta));
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: sets the priority of this task
+    //     and notifies the projects containing this todo of the change
     //   throws NullArgumentException when priority is null
     public void setPriority(Priority priority) {
         if (priority == null) {
             throw new NullArgumentException("Illegal argument: priority is null");
         }
         this.priority = priority;
+        notifyChange(TodoChange.Kind.PRIORITY, 0);
     }
 }
@@ -0,0 +1,49 @@
+package model;
+
+// Represents a change to a Todo, passed as the argument of notifyObservers
+// so that observing projects can update their cached totals by delta
+public class TodoChange {
+    // ESTIMATE_PENDING announces, while a batch is being committed, that an
+    // ESTIMATED_TIME_TO_COMPLETE change of the notifying todo will follow;
+    // TAGS is a tag being added to or removed from a task;
+    // PROGRESS_AND_ESTIMATE is a change of both the progress and the estimated time to complete
+    // (e.g. tasks being added to or removed from a project), reported as one change
+    public enum Kind {
+        PROGRESS, ESTIMATED_TIME_TO_COMPLETE, PROGRESS_AND_ESTIMATE, ESTIMATE_PENDING, PRIORITY, STATUS, DUE_DATE, TAGS
+    }
+
+    private final Kind kind;
+    private final int delta;
+    private final int estimateDelta;
+
+    // EFFECTS: constructs a change of the given kind, by which the value changed by delta
+    public TodoChange(Kind kind, int delta) {
+        this(kind, delta, kind == Kind.ESTIMATED_TIME_TO_COMPLETE ? delta : 0);
+    }
+
+    // EFFECTS: constructs a change of the given kind, by which the progress (or the only value
+    //     changed) changed by delta and the estimated time to complete by estimateDelta
+    public TodoChange(Kind kind, int delta, int estimateDelta) {
+        this.kind = kind;
+        this.delta = delta;
+        this.estimateDelta = estimateDelta;
+    }
+
+    // EFFECTS: returns the kind of this change
+    public Kind getKind() {
+        return kind;
+    }
+
+    // EFFECTS: returns the difference between the new and the old value
+    //     (zero for every kind of change other than PROGRESS, ESTIMATED_TIME_TO_COMPLETE
+    //     and PROGRESS_AND_ESTIMATE, for which it is the difference of the progress)
+    public int getDelta() {
+        return delta;
+    }
+
+    // EFFECTS: returns the difference between the new and the old estimated time to complete
+    //     (zero for every kind of change other than ESTIMATED_TIME_TO_COMPLETE and PROGRESS_AND_ESTIMATE)
+    public int getEstimateDelta() {
+        return estimateDelta;
+    }
+}
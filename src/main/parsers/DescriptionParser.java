@@ -0,0 +1,111 @@
+package parsers;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Tag;
+import model.Task;
+import model.TodoChange;
+import parsers.exceptions.ParsingException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Observable;
+import java.util.Observer;
+
+// Represents a parser of task descriptions that remembers its most recent parses
+// Each description is parsed with TagParser once and the outcome is reused for later
+// parses of the same description, up to a fixed number of descriptions; outcomes holding
+// a due date are only reused on the day they were parsed. A DescriptionParser may be
+// used by several threads at the same time.
+public class DescriptionParser {
+    // The id of the scratch tasks parsed into: the smallest id, so that they do not use up the ids of new tasks
+    private static final long SCRATCH_ID = 1;
+
+    private final Map<String, ParsedDescription> cache;
+
+    // REQUIRES: capacity > 0
+    // EFFECTS: constructs a parser remembering at most capacity descriptions
+    public DescriptionParser(int capacity) {
+        cache = new LinkedHashMap<String, ParsedDescription>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedDescription> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // REQUIRES: description is non-empty
+    // EFFECTS: returns the outcome of parsing description for meta-data
+    public ParsedDescription parse(String description) {
+        return parse(description, LocalDate.now().toEpochDay());
+    }
+
+    // REQUIRES: description is non-empty
+    // EFFECTS: returns the outcome of parsing description for meta-data on the given day
+    ParsedDescription parse(String description, long today) {
+        ParsedDescription parsed;
+        synchronized (cache) {
+            parsed = cache.get(description);
+        }
+        if (parsed != null && parsed.isValidOn(today)) {
+            return parsed;
+        }
+        parsed = parseUncached(description, today);
+        synchronized (cache) {
+            cache.put(description, parsed);
+        }
+        return parsed;
+    }
+
+    // EFFECTS: returns the number of descriptions remembered
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // EFFECTS: parses description with a new TagParser, recording what it does to a scratch task
+    private static ParsedDescription parseUncached(String description, long today) {
+        Task scratch = new Task(SCRATCH_ID, "scratch", new Priority(4), Status.TODO, Task.NO_DUE_DATE);
+        StatusRecorder recorder = new StatusRecorder();
+        scratch.addObserver(recorder);
+        Parser parser = new TagParser();
+        try {
+            parser.parse(description, scratch);
+        } catch (ParsingException e) {
+            return new ParsedDescription(description);
+        }
+        return outcome(parser.getDescription(), scratch, recorder.status, today);
+    }
+
+    // EFFECTS: returns the outcome of a parse on the given day that left description and
+    //     did to scratch what it did; status is null if the parse did not set it
+    private static ParsedDescription outcome(String description, Task scratch, Status status, long today) {
+        List<String> tags = new ArrayList<>(scratch.getTags().size());
+        for (Tag tag : scratch.getTags()) {
+            tags.add(tag.getName());
+        }
+        Priority priority = scratch.getPriority();
+        DueDate dueDate = scratch.getDueDate();
+        Date due = dueDate == null ? null : dueDate.getDate();
+        return new ParsedDescription(description, true, tags, status,
+                priority.isImportant(), priority.isUrgent(), due, today);
+    }
+
+    // Records the status TagParser sets on the scratch task it parses into, if it sets one
+    private static class StatusRecorder implements Observer {
+        private Status status;
+
+        @Override
+        public void update(Observable o, Object arg) {
+            if (arg instanceof TodoChange && ((TodoChange) arg).getKind() == TodoChange.Kind.STATUS) {
+                status = ((Task) o).getStatus();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package parsers;
+
+import model.DueDate;
+import model.Status;
+import model.Task;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// Represents the outcome of parsing a task description for meta-data: the description
+// without its meta-data and the changes the meta-data makes to a task. Instances are
+// immutable, so one parse can be applied to any number of tasks.
+public class ParsedDescription {
+    private final String description;
+    private final boolean hasMetadata;
+    private final List<String> tags;
+    private final Status status;
+    private final boolean important;
+    private final boolean urgent;
+    private final Date dueDate;
+    private final long epochDay;
+
+    // EFFECTS: constructs the outcome of parsing a description that has no meta-data
+    ParsedDescription(String description) {
+        this(description, false, Collections.emptyList(), null, false, false, null, 0);
+    }
+
+    // EFFECTS: constructs the outcome of parsing a description with meta-data on epochDay;
+    //     status and dueDate are null if the meta-data does not set them
+    ParsedDescription(String description, boolean hasMetadata, List<String> tags, Status status,
+                      boolean important, boolean urgent, Date dueDate, long epochDay) {
+        this.description = description;
+        this.hasMetadata = hasMetadata;
+        this.tags = Collections.unmodifiableList(tags);
+        this.status = status;
+        this.important = important;
+        this.urgent = urgent;
+        this.dueDate = dueDate;
+        this.epochDay = epochDay;
+    }
+
+    // EFFECTS: returns the description without its meta-data
+    public String getDescription() {
+        return description;
+    }
+
+    // EFFECTS: returns true if the description had meta-data
+    public boolean hasMetadata() {
+        return hasMetadata;
+    }
+
+    // EFFECTS: returns true if this parse may be reused on the given day; a parse that set a
+    //     due date holds a date relative to the day it was made (e.g., "today", "tomorrow")
+    boolean isValidOn(long epochDay) {
+        return dueDate == null || this.epochDay == epochDay;
+    }
+
+    // MODIFIES: task
+    // EFFECTS: makes the changes of the meta-data to task, as TagParser would have: tags are
+    //     added, and the status, importance, urgency and due date are set only if mentioned
+    public void applyTo(Task task) {
+        for (String tag : tags) {
+            task.addTag(tag);
+        }
+        if (status != null) {
+            task.setStatus(status);
+        }
+        if (important) {
+            task.getPriority().setImportant(true);
+        }
+        if (urgent) {
+            task.getPriority().setUrgent(true);
+        }
+        if (dueDate != null) {
+            task.setDueDate(new DueDate(new Date(dueDate.getTime())));
+        }
+    }
+}
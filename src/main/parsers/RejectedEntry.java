@@ -0,0 +1,30 @@
+package parsers;
+
+// Represents an entry of a task list that TaskParser (or a record of a snapshot that SnapshotParser)
+// rejected as malformed
+public class RejectedEntry {
+    private final int index;
+    private final String reason;
+
+    // EFFECTS: constructs a rejected entry at the given position of the array with the given reason
+    public RejectedEntry(int index, String reason) {
+        this.index = index;
+        this.reason = reason;
+    }
+
+    // EFFECTS: returns the position of the entry in the array it was read from
+    public int getIndex() {
+        return index;
+    }
+
+    // EFFECTS: returns why the entry was rejected
+    public String getReason() {
+        return reason;
+    }
+
+    // EFFECTS: returns the position and reason, e.g. "entry 3: status is missing or unknown"
+    @Override
+    public String toString() {
+        return "entry " + index + ": " + reason;
+    }
+}
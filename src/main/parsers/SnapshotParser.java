@@ -0,0 +1,172 @@
+package parsers;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import parsers.exceptions.ParsingException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static persistence.SnapshotEncoder.*;
+
+// Represents binary snapshot parser
+// Reads the format written by SnapshotEncoder directly from a (typically memory-mapped) buffer
+// A record that does not form a valid task (e.g., one with an empty description) is skipped and
+// reported through getRejectedEntries(), as TaskParser does; a snapshot that is truncated or
+// corrupt (e.g., one whose counts or lengths do not fit in it) is rejected as a whole.
+public class SnapshotParser {
+    private static final Status[] STATUSES = Status.values();
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long MAX_DUE_MINUTE = Long.MAX_VALUE / MILLIS_PER_MINUTE;
+    private static final int MIN_STRING_SIZE = 4;  // length
+    private static final int MIN_RECORD_SIZE = 23;  // id, description index, flags, due minute and number of tags
+    private static final int TAG_SIZE = 4;  // index of the tag name
+
+    private List<RejectedEntry> rejectedEntries = new ArrayList<>();
+
+    // EFFECTS: parses the binary snapshot held in buffer and returns its list of tasks
+    //          each string in the string table is decoded once and shared by every task using it
+    //  throws ParsingException if buffer does not hold a complete snapshot of the current VERSION
+    public List<Task> parse(ByteBuffer buffer) throws ParsingException {
+        rejectedEntries = new ArrayList<>();
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new ParsingException("Not a task snapshot of version " + VERSION);
+            }
+            buffer.getShort();
+            int numberOfTasks = buffer.getInt();
+            String[] strings = parseStrings(buffer, buffer.getInt());
+            return parseTasks(buffer, strings, numberOfTasks);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ParsingException("Truncated or corrupt task snapshot");
+        }
+    }
+
+    // EFFECTS: returns the records rejected by the most recent parse, in the order in which
+    // they appear in its snapshot
+    public List<RejectedEntry> getRejectedEntries() {
+        return Collections.unmodifiableList(rejectedEntries);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: decodes the string table at the position of buffer
+    //  throws ParsingException if the table does not fit in buffer
+    private String[] parseStrings(ByteBuffer buffer, int numberOfStrings) throws ParsingException {
+        String[] strings = new String[checkCount(buffer, numberOfStrings, MIN_STRING_SIZE)];
+        for (int i = 0; i < numberOfStrings; i++) {
+            int length = checkCount(buffer, buffer.getInt(), 1);
+            if (buffer.hasArray()) {
+                int start = buffer.arrayOffset() + buffer.position();
+                strings[i] = new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return strings;
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: decodes the task records at the position of buffer, skipping the rejected ones
+    //  throws ParsingException if the records do not fit in buffer
+    private List<Task> parseTasks(ByteBuffer buffer, String[] strings, int numberOfTasks) throws ParsingException {
+        List<Task> tasks = new ArrayList<>(checkCount(buffer, numberOfTasks, MIN_RECORD_SIZE));
+        for (int i = 0; i < numberOfTasks; i++) {
+            Task t = parseTask(buffer, strings, i);
+            if (t != null) {
+                tasks.add(t);
+            }
+        }
+        return tasks;
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: decodes the task record at the position of buffer, the index-th of the snapshot;
+    //          returns null, and records it as rejected, if it does not form a valid task
+    //  throws ParsingException if the record does not fit in buffer
+    private Task parseTask(ByteBuffer buffer, String[] strings, int index) throws ParsingException {
+        long id = buffer.getLong();
+        String description = strings[buffer.getInt()];
+        int flags = buffer.get();
+        Status status = STATUSES[flags >>> STATUS_SHIFT];
+        DueDate dueDate = parseDueDate(buffer, (flags & HAS_DUE_DATE) != 0);
+        String[] tags = parseTags(buffer, strings);
+        String reason = reasonToReject(id, description, tags);
+        if (reason != null) {
+            rejectedEntries.add(new RejectedEntry(index, reason));
+            return null;
+        }
+        Task t = new Task(id, description, priority(flags), status, dueDate);
+        for (String tag : tags) {
+            t.addTag(tag);
+        }
+        return t;
+    }
+
+    // EFFECTS: returns why a record with the given fields does not form a valid task, or null if it does
+    private static String reasonToReject(long id, String description, String[] tags) {
+        if (id < 1) {
+            return "id is not a positive integer";
+        }
+        if (description.isEmpty()) {
+            return "description is empty";
+        }
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i].isEmpty()) {
+                return "tag " + i + " has no name";
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the priority packed in flags
+    private static Priority priority(int flags) {
+        Priority p = new Priority();
+        p.setImportant((flags & IMPORTANT) != 0);
+        p.setUrgent((flags & URGENT) != 0);
+        return p;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: decodes the tag names of a record
+    //  throws ParsingException if they do not fit in buffer
+    private static String[] parseTags(ByteBuffer buffer, String[] strings) throws ParsingException {
+        String[] tags = new String[checkCount(buffer, buffer.getShort(), TAG_SIZE)];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = strings[buffer.getInt()];
+        }
+        return tags;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: decodes the due date of a record; returns null if the task has no due date
+    //  throws ParsingException if the due minute is not the minute of a date
+    private static DueDate parseDueDate(ByteBuffer buffer, boolean hasDueDate) throws ParsingException {
+        long dueMinute = buffer.getLong();
+        if (!hasDueDate) {
+            return null;
+        }
+        if (dueMinute > MAX_DUE_MINUTE || dueMinute < -MAX_DUE_MINUTE) {
+            throw new ParsingException("Corrupt task snapshot: due minute " + dueMinute + " is out of range");
+        }
+        return new DueDate(new Date(dueMinute * MILLIS_PER_MINUTE));
+    }
+
+    // EFFECTS: returns count, the number of items of at least itemSize bytes each that follow in buffer
+    //  throws ParsingException if count is negative or the rest of buffer cannot hold that many items
+    private static int checkCount(ByteBuffer buffer, int count, int itemSize) throws ParsingException {
+        if (count < 0 || count > buffer.remaining() / itemSize) {
+            throw new ParsingException("Corrupt task snapshot: " + count + " items do not fit in it");
+        }
+        return count;
+    }
+}
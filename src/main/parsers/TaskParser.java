@@ -7,13 +7,31 @@ import model.Task;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
+import persistence.DueDateCodec;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 // Represents Task parser
+// Each entry is validated and built in a single pass that reads every field once; malformed
+// entries are skipped and reported through getRejectedEntries() rather than by exceptions.
+// Entries carry an optional "id"; entries without one (e.g., written before tasks had ids)
+// are given a fresh id.
+// Note: a TaskParser must not be used by several threads at the same time
 public class TaskParser {
+    private static final int CHUNK_SIZE = 512;
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private List<RejectedEntry> rejectedEntries = new ArrayList<>();
 
     // EFFECTS: iterates over every JSONObject in the JSONArray represented by the input
     // string and parses it as a task; each parsed task is added to the list of tasks.
@@ -21,167 +39,452 @@ public class TaskParser {
     // list of tasks.
     // Note: input is a string representation of a JSONArray
     public List<Task> parse(String input) {
+        return parse(new StringReader(input));
+    }
+
+    // EFFECTS: reads the JSONArray supplied by reader one element at a time and parses
+    // each JSONObject as a task; each parsed task is added to the list of tasks.
+    // Only the element currently being parsed is held in memory, never the whole array.
+    // Any task that cannot be parsed due to malformed JSON data is not added to the
+    // list of tasks.
+    //  throws JSONException if reader does not supply a syntactically valid JSONArray
+    public List<Task> parse(Reader reader) {
         List<Task> tasks = new ArrayList<>();
-        JSONArray tasksArray = new JSONArray(input);
+        rejectedEntries = new ArrayList<>();
+        JSONTokener tokener = new JSONTokener(reader);
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSONArray text must start with '['");
+        }
+        if (tokener.nextClean() != ']') {
+            tokener.back();
+            parseElements(tokener, tasks);
+        }
+        return tasks;
+    }
+
+    // EFFECTS: same as parse(input), but the top-level array is split into chunks at element
+    // boundaries and the chunks are validated and parsed on the common fork-join pool;
+    // tasks are returned in the order in which they appear in input.
+    //  throws JSONException if input is not a syntactically valid JSONArray
+    public List<Task> parseParallel(String input) {
+        return parseParallel(input, ForkJoinPool.commonPool());
+    }
 
-        for (Object object : tasksArray) {
-            JSONObject taskJson = (JSONObject) object;
-            if (isValidObject(taskJson)) {
-                Priority p = new Priority();
+    // EFFECTS: same as parseParallel(input), using the given pool
+    public List<Task> parseParallel(String input, ForkJoinPool pool) {
+        ElementBounds bounds = ElementBounds.of(input);
+        Task[] parsed = new Task[bounds.size()];
+        RejectedEntry[] rejected = new RejectedEntry[bounds.size()];
+        pool.invoke(new ChunkParser(input, bounds, parsed, rejected, 0, bounds.size()));
 
-                Task t = new Task(taskJson.get("description").toString());
-                p.setImportant(taskJson.getJSONObject("priority").getBoolean("important"));
-                p.setUrgent(taskJson.getJSONObject("priority").getBoolean("urgent"));
-                t.setPriority(p);
-                setStatusInParse(t, taskJson);
-                t.setDueDate(setDueDateInParse(taskJson));
-                setTagsInParse(t, taskJson);
-                tasks.add(t);
+        List<Task> tasks = new ArrayList<>(parsed.length);
+        rejectedEntries = new ArrayList<>();
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] != null) {
+                tasks.add(parsed[i]);
+            } else {
+                rejectedEntries.add(rejected[i]);
             }
         }
         return tasks;
     }
 
-    private boolean isValidObject(JSONObject object) {
-        return isValidDescription(object)
-                && isValidTagsArray(object)
-                && isValidDueDateObject(object)
-                && isValidPriority(object)
-                && isValidStatus(object);
+    // EFFECTS: returns the entries rejected by the most recent parse, in the order in which
+    // they appear in its input
+    public List<RejectedEntry> getRejectedEntries() {
+        return Collections.unmodifiableList(rejectedEntries);
+    }
+
+    // EFFECTS: returns the task represented by taskJson, or null if taskJson is malformed
+    public Task parseTask(JSONObject taskJson) {
+        EntryReader entryReader = new EntryReader();
+        return entryReader.read(taskJson) ? entryReader.build() : null;
     }
 
-    private boolean isValidStatus(JSONObject obj) {
-        if (obj.has("status")) {
+    // MODIFIES: this, tasks
+    // EFFECTS: reads the elements of the array from tokener up to and including its closing ']',
+    // adding the well-formed tasks to tasks and recording the other elements as rejected
+    //  throws JSONException if the elements are not followed by ',' or ']'
+    private void parseElements(JSONTokener tokener, List<Task> tasks) {
+        EntryReader entryReader = new EntryReader();
+        while (true) {
+            parseElement(tokener, entryReader, tasks);
+            switch (tokener.nextClean()) {
+                case ',':
+                    if (tokener.nextClean() == ']') {
+                        return;
+                    }
+                    tokener.back();
+                    break;
+                case ']':
+                    return;
+                default:
+                    throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+        }
+    }
+
+    // MODIFIES: this, tasks
+    // EFFECTS: reads the next element of the array from tokener and, if it is a
+    // well-formed task, adds the parsed task to tasks; otherwise records it as rejected
+    private void parseElement(JSONTokener tokener, EntryReader entryReader, List<Task> tasks) {
+        if (tokener.nextClean() == ',') {
+            tokener.back();
+            return;
+        }
+        tokener.back();
+        int index = tasks.size() + rejectedEntries.size();
+        Object object = tokener.nextValue();
+        if (!(object instanceof JSONObject)) {
+            rejectedEntries.add(new RejectedEntry(index, "entry is not a JSON object"));
+        } else if (entryReader.read((JSONObject) object)) {
+            tasks.add(entryReader.build());
+        } else {
+            rejectedEntries.add(new RejectedEntry(index, entryReader.reason));
+        }
+    }
+
+    // EFFECTS: returns value as an int if it is a number or a numeric string, INVALID otherwise
+    private static long intValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
             try {
-                if (obj.getString("status").equals("DONE")
-                        || obj.getString("status").equals("IN_PROGRESS")
-                        || obj.getString("status").equals("UP_NEXT")
-                        || obj.getString("status").equals("TODO")) {
-                    return true;
-                }
-                return false;
-            } catch (JSONException e) {
-                return false;
+                return new BigDecimal((String) value).intValue();
+            } catch (NumberFormatException e) {
+                return INVALID;
             }
         }
-        return false;
+        return INVALID;
     }
 
-    private boolean isValidPriority(JSONObject obj) {
-        if (obj.has("priority")) {
+    // EFFECTS: returns value as a long if it is an integral number or an integral numeric string,
+    // INVALID otherwise
+    private static long longValue(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
             try {
-                obj.getJSONObject("priority");
-                return isValidPriorityObject(obj);
-            } catch (JSONException e) {
-                return false;
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return INVALID;
             }
         }
-        return false;
+        return INVALID;
     }
 
-    private boolean isValidPriorityObject(JSONObject obj) {
-        try {
-            obj.getJSONObject("priority").getBoolean("important");
-            obj.getJSONObject("priority").getBoolean("urgent");
-            return true;
-        } catch (JSONException e) {
-            return false;
+    // EFFECTS: returns 1 or 0 if value is a boolean or the string "true" or "false" (in any
+    // case), and -1 otherwise
+    private static int booleanValue(Object value) {
+        if (Boolean.TRUE.equals(value) || "true".equalsIgnoreCase(value instanceof String ? (String) value : null)) {
+            return 1;
         }
+        if (Boolean.FALSE.equals(value) || "false".equalsIgnoreCase(value instanceof String ? (String) value : null)) {
+            return 0;
+        }
+        return -1;
     }
 
-    private boolean isValidDueDateObject(JSONObject obj) {
-        try {
-            if (obj.get("due-date").equals(JSONObject.NULL)) {
-                return true;
+    // Reads the fields of one task entry, each exactly once, validating them as it goes
+    // An instance is reused for consecutive entries; after read returns false, reason
+    // describes why the entry was rejected
+    private static class EntryReader {
+        private long id;
+        private String description;
+        private String[] tags = new String[4];
+        private int numberOfTags;
+        private DueDate dueDate;
+        private boolean important;
+        private boolean urgent;
+        private Status status;
+        private String reason;
+
+        // MODIFIES: this
+        // EFFECTS: reads every field of json; returns true if they form a valid task,
+        //          otherwise sets reason and returns false
+        boolean read(JSONObject json) {
+            return readId(json.opt("id"))
+                    && readDescription(json.opt("description"))
+                    && readTags(json.opt("tags"))
+                    && readDueDate(json.opt("due-date"))
+                    && readPriority(json.opt("priority"))
+                    && readStatus(json.opt("status"));
+        }
+
+        // REQUIRES: the last call to read returned true
+        // EFFECTS: returns the task that was read
+        Task build() {
+            Priority p = new Priority();
+            p.setImportant(important);
+            p.setUrgent(urgent);
+            Task t = id == 0 ? new Task(description, p, status, dueDate)
+                    : new Task(id, description, p, status, dueDate);
+            for (int i = 0; i < numberOfTags; i++) {
+                t.addTag(tags[i]);
             }
-            return isValidDueDate(obj);
-        } catch (JSONException e) {
+            return t;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: records reason and returns false
+        private boolean reject(String reason) {
+            this.reason = reason;
             return false;
         }
-    }
 
-    private boolean isValidDueDate(JSONObject obj) {
-        try {
-            obj.getJSONObject("due-date").getInt("year");
-            obj.getJSONObject("due-date").getInt("month");
-            obj.getJSONObject("due-date").getInt("day");
-            obj.getJSONObject("due-date").getInt("hour");
-            obj.getJSONObject("due-date").getInt("minute");
+        // EFFECTS: reads the optional id; a missing id is recorded as 0,
+        //          and the task gets a fresh id when it is built
+        private boolean readId(Object value) {
+            if (value == null) {
+                id = 0;
+                return true;
+            }
+            id = longValue(value);
+            return id > 0 || reject("id is not a positive integer");
+        }
+
+        private boolean readDescription(Object value) {
+            if (!(value instanceof String)) {
+                return reject("description is missing or not a string");
+            }
+            description = (String) value;
+            return description.length() != 0 || reject("description is empty");
+        }
+
+        private boolean readTags(Object value) {
+            if (!(value instanceof JSONArray)) {
+                return reject("tags is missing or not an array");
+            }
+            JSONArray array = (JSONArray) value;
+            if (array.length() > tags.length) {
+                tags = new String[array.length()];
+            }
+            numberOfTags = 0;
+            for (Object tag : array) {
+                Object name = tag instanceof JSONObject ? ((JSONObject) tag).opt("name") : null;
+                if (!(name instanceof String) || ((String) name).length() == 0) {
+                    return reject("tag " + numberOfTags + " has no name");
+                }
+                tags[numberOfTags++] = (String) name;
+            }
             return true;
-        } catch (JSONException e) {
-            return false;
         }
-    }
 
-    private boolean isValidTagsArray(JSONObject obj) {
-        try {
-            obj.getJSONArray("tags");
-            return isValidTags(obj);
-        } catch (JSONException e) {
-            return false;
+        private boolean readDueDate(Object value) {
+            dueDate = Task.NO_DUE_DATE;
+            if (value == JSONObject.NULL) {
+                return true;
+            }
+            if (!(value instanceof JSONObject)) {
+                return reject("due-date is missing or not an object");
+            }
+            return readDueDateFields((JSONObject) value);
         }
-    }
 
-    private boolean isValidTags(JSONObject obj) {
-        for (Object json : obj.getJSONArray("tags")) {
-            JSONObject castJson = (JSONObject) json;
+        // EFFECTS: reads the year, month, day, hour and minute of a due date, which are to be integers
+        //          forming a date in range
+        private boolean readDueDateFields(JSONObject fields) {
+            long year = intValue(fields.opt("year"));
+            long month = intValue(fields.opt("month"));
+            long day = intValue(fields.opt("day"));
+            long hour = intValue(fields.opt("hour"));
+            long minute = intValue(fields.opt("minute"));
+            if (year == INVALID || month == INVALID || day == INVALID || hour == INVALID || minute == INVALID) {
+                return reject("due-date does not have an integer year, month, day, hour and minute");
+            }
             try {
-                castJson.getString("name");
-            } catch (JSONException e) {
-                return false;
+                dueDate = DueDateCodec.LOCAL.toDueDate((int) year, (int) month, (int) day, (int) hour, (int) minute);
+            } catch (DateTimeException e) {
+                return reject("due-date is out of range");
             }
+            return true;
         }
-        return true;
-    }
 
-    private boolean isValidDescription(JSONObject obj) {
-        if (obj.has("description")) {
-            try {
-                obj.getString("description");
-                return true;
-            } catch (JSONException e) {
-                return false;
+        private boolean readPriority(Object value) {
+            if (!(value instanceof JSONObject)) {
+                return reject("priority is missing or not an object");
+            }
+            int important = booleanValue(((JSONObject) value).opt("important"));
+            int urgent = booleanValue(((JSONObject) value).opt("urgent"));
+            if (important < 0 || urgent < 0) {
+                return reject("priority does not have a boolean important and urgent");
             }
+            this.important = important == 1;
+            this.urgent = urgent == 1;
+            return true;
         }
-        return false;
-    }
 
-    private void setStatusInParse(Task t, JSONObject obj) {
-        String status = obj.get("status").toString();
-        if (status.equals("DONE")) {
-            t.setStatus(Status.DONE);
-        } else if (status.equals("IN_PROGRESS")) {
-            t.setStatus(Status.IN_PROGRESS);
-        } else if (status.equals("UP_NEXT")) {
-            t.setStatus(Status.UP_NEXT);
-        } else if (status.equals("TODO")) {
-            t.setStatus(Status.TODO);
+        private boolean readStatus(Object value) {
+            if ("TODO".equals(value)) {
+                status = Status.TODO;
+            } else if ("UP_NEXT".equals(value)) {
+                status = Status.UP_NEXT;
+            } else if ("IN_PROGRESS".equals(value)) {
+                status = Status.IN_PROGRESS;
+            } else if ("DONE".equals(value)) {
+                status = Status.DONE;
+            } else {
+                return reject("status is missing or unknown");
+            }
+            return true;
         }
     }
 
-    private DueDate setDueDateInParse(JSONObject obj) {
-        if (obj.get("due-date").equals(JSONObject.NULL)) {
-            return null;
-        } else {
-            DueDate d = new DueDate();
-            Calendar c = Calendar.getInstance();
-            c.set(Calendar.YEAR, obj.getJSONObject("due-date").getInt("year"));
-            c.set(Calendar.MONTH, obj.getJSONObject("due-date").getInt("month"));
-            c.set(Calendar.DAY_OF_MONTH, obj.getJSONObject("due-date").getInt("day"));
-            c.set(Calendar.HOUR_OF_DAY, obj.getJSONObject("due-date").getInt("hour"));
-            c.set(Calendar.MINUTE, obj.getJSONObject("due-date").getInt("minute"));
-            d.setDueDate(c.getTime());
-            return d;
+    // Parses the elements [from, to) of a JSON array on a fork-join pool, splitting the range
+    // in halves until it is at most CHUNK_SIZE elements long
+    private static class ChunkParser extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String input;
+        private final ElementBounds bounds;
+        private final Task[] parsed;
+        private final RejectedEntry[] rejected;
+        private final int from;
+        private final int to;
+
+        ChunkParser(String input, ElementBounds bounds, Task[] parsed, RejectedEntry[] rejected, int from, int to) {
+            this.input = input;
+            this.bounds = bounds;
+            this.parsed = parsed;
+            this.rejected = rejected;
+            this.from = from;
+            this.to = to;
+        }
+
+        // MODIFIES: parsed, rejected
+        // EFFECTS: stores the task parsed from element i at parsed[i], or the reason it was
+        //          rejected at rejected[i]
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                EntryReader entryReader = new EntryReader();
+                for (int i = from; i < to; i++) {
+                    parseElement(input.substring(bounds.start(i), bounds.end(i)), entryReader, i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkParser(input, bounds, parsed, rejected, from, mid),
+                        new ChunkParser(input, bounds, parsed, rejected, mid, to));
+            }
+        }
+
+        // MODIFIES: parsed, rejected
+        // EFFECTS: parses the array element at index, as parse does; the element is followed by the
+        //          ']' that follows it (after a ',') in the array, which also ends an unquoted value
+        //  throws JSONException if element is not syntactically valid JSON
+        private void parseElement(String element, EntryReader entryReader, int index) {
+            JSONTokener tokener = new JSONTokener(element + "]");
+            Object value = tokener.nextValue();
+            if (tokener.nextClean() != ']') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+            if (!(value instanceof JSONObject)) {
+                rejected[index] = new RejectedEntry(index, "entry is not a JSON object");
+            } else if (entryReader.read((JSONObject) value)) {
+                parsed[index] = entryReader.build();
+            } else {
+                rejected[index] = new RejectedEntry(index, entryReader.reason);
+            }
         }
     }
 
-    private void setTagsInParse(Task t, JSONObject obj) {
-        JSONArray tags = obj.getJSONArray("tags");
-        for (Object object : tags) {
-            JSONObject tagJson = (JSONObject) object;
-            t.addTag(tagJson.getString("name"));
+    // Offsets of the non-empty top-level elements of a JSON array held in a string
+    private static class ElementBounds {
+        private int[] offsets = new int[64];
+        private int size = 0;
+
+        // EFFECTS: scans input once and returns the bounds of every non-empty element of the
+        //          array it represents; nested values and string contents are skipped over
+        //  throws JSONException if the array is not properly opened and closed
+        static ElementBounds of(String input) {
+            int i = skipWhitespace(input, 0);
+            if (i == input.length() || input.charAt(i) != '[') {
+                throw new JSONException("A JSONArray text must start with '['");
+            }
+            ElementBounds bounds = new ElementBounds();
+            if (!bounds.scan(input, i + 1)) {
+                throw new JSONException("Expected a ',' or ']'");
+            }
+            return bounds;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: records the elements of the array whose contents start at input[from];
+        //          returns true if the array is closed, false if input ends before it is
+        private boolean scan(String input, int from) {
+            int depth = 0;
+            int start = from;
+            for (int i = from; i < input.length(); i++) {
+                char c = input.charAt(i);
+                if (c == '"' || c == '\'') {
+                    i = skipString(input, i);
+                } else if (c == '{' || c == '[' || c == '}' || (c == ']' && depth > 0)) {
+                    depth += c == '{' || c == '[' ? 1 : -1;
+                } else if (c == ']' || (c == ',' && depth == 0)) {
+                    add(input, start, i);
+                    if (c == ']') {
+                        return true;
+                    }
+                    start = i + 1;
+                }
+            }
+            return false;
+        }
+
+        // EFFECTS: returns the index of the quote closing the string opened by the quote at input[i],
+        //          or input.length() if the string is not closed
+        private static int skipString(String input, int i) {
+            char quote = input.charAt(i);
+            for (i++; i < input.length(); i++) {
+                char c = input.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    return i;
+                }
+            }
+            return input.length();
+        }
+
+        // EFFECTS: returns the index of the first non-whitespace character of input at or after i
+        private static int skipWhitespace(String input, int i) {
+            while (i < input.length() && input.charAt(i) <= ' ') {
+                i++;
+            }
+            return i;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: records the element input[start, end) with surrounding whitespace trimmed,
+        //          unless it is empty
+        private void add(String input, int start, int end) {
+            start = skipWhitespace(input, start);
+            while (end > start && input.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return;
+            }
+            if (2 * size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[2 * size] = start;
+            offsets[2 * size + 1] = end;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int start(int i) {
+            return offsets[2 * i];
+        }
+
+        int end(int i) {
+            return offsets[2 * i + 1];
         }
     }
-    
-    
 }
@@ -0,0 +1,77 @@
+package persistence;
+
+import model.DueDate;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+
+// Converts due dates to and from the wall-clock fields they are stored as (year, month counted
+// from 0 as in Calendar, day of month, hour of day and minute) in a time zone
+// A codec has either a fixed zone, whose rules are looked up once, when it is constructed, or
+// follows the default zone of this JVM, which is looked up on every conversion (as a Calendar
+// would), so that a change of the default zone applies to later conversions; no Calendar is involved.
+// Out-of-range fields roll over into the next field, as they do with a lenient Calendar.
+public class DueDateCodec {
+    // The codec used for the data files: the default time zone of this JVM at the time of each conversion
+    public static final DueDateCodec LOCAL = new DueDateCodec();
+
+    private final ZoneRules rules;  // null for the default zone at the time of each conversion
+
+    // EFFECTS: constructs a codec for wall-clock fields in the given time zone
+    public DueDateCodec(ZoneId zone) {
+        this.rules = zone.getRules();
+    }
+
+    // EFFECTS: constructs a codec for wall-clock fields in the default time zone of this JVM
+    private DueDateCodec() {
+        this.rules = null;
+    }
+
+    // REQUIRES: dueDate != null
+    // EFFECTS: returns the wall-clock date and time of dueDate in the zone of this codec
+    public LocalDateTime toLocalDateTime(DueDate dueDate) {
+        long millis = dueDate.getDate().getTime();
+        ZoneOffset offset = rules().getOffset(Instant.ofEpochMilli(millis));
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), 0, offset);
+    }
+
+    // EFFECTS: returns the wall-clock date and time, in the zone of this codec, of the given number
+    //          of minutes since the epoch (e.g. Task.getDueMinute())
+    public LocalDateTime toLocalDateTime(long epochMinute) {
+        long epochSecond = epochMinute * 60;
+        ZoneOffset offset = rules().getOffset(Instant.ofEpochSecond(epochSecond));
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+    }
+
+    // EFFECTS: returns the due date at the given wall-clock fields in the zone of this codec;
+    //          month is counted from 0, as in Calendar
+    //          a wall-clock time skipped by a daylight saving change is moved forward by the length of the change
+    public DueDate toDueDate(int year, int month, int day, int hour, int minute) {
+        LocalDateTime local;
+        try {
+            local = LocalDateTime.of(year, month + 1, day, hour, minute);
+        } catch (DateTimeException e) {
+            local = LocalDate.of(year, 1, 1).atStartOfDay()
+                    .plusMonths(month).plusDays(day - 1L).plusHours(hour).plusMinutes(minute);
+        }
+        return toDueDate(local);
+    }
+
+    // REQUIRES: local != null
+    // EFFECTS: returns the due date at the wall-clock date and time local in the zone of this codec
+    //          a wall-clock time skipped by a daylight saving change is moved forward by the length of the change
+    public DueDate toDueDate(LocalDateTime local) {
+        return new DueDate(new Date(local.toEpochSecond(rules().getOffset(local)) * 1000));
+    }
+
+    // EFFECTS: returns the rules of the zone of this codec at the time of the call
+    private ZoneRules rules() {
+        return rules != null ? rules : ZoneId.systemDefault().getRules();
+    }
+}
@@ -8,11 +8,20 @@ import model.Task;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.Calendar;
-import java.util.List;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Set;
 
 // Converts model elements to JSON objects
+// Lists of tasks can also be written straight to a Writer, one task at a time, without building
+// JSON objects; the text written is the same as the toString() of the corresponding JSON array.
+// That text depends on the order in which a JSONObject iterates its keys, which is the order of
+// the HashMap org.json keeps them in, not the order they were put in; the streaming writer
+// writes the keys in that order, fixed here for the keys of a task (see TestJsonifier, which
+// checks it against the JSONObjects built by taskToJson).
+// Due dates are converted to their fields with DueDateCodec.LOCAL.
 public class Jsonifier {
 
     // EFFECTS: returns JSON representation of tag
@@ -36,13 +45,12 @@ public class Jsonifier {
         if (dueDate == null) {
             dueDateJson = null;
         } else {
-            Calendar dueDateCalendar = Calendar.getInstance();
-            dueDateCalendar.setTime(dueDate.getDate());
-            dueDateJson.put("year", dueDateCalendar.get(Calendar.YEAR));
-            dueDateJson.put("month", dueDateCalendar.get(Calendar.MONTH));
-            dueDateJson.put("day", dueDateCalendar.get(Calendar.DAY_OF_MONTH));
-            dueDateJson.put("hour", dueDateCalendar.get(Calendar.HOUR_OF_DAY));
-            dueDateJson.put("minute", dueDateCalendar.get(Calendar.MINUTE));
+            LocalDateTime due = DueDateCodec.LOCAL.toLocalDateTime(dueDate);
+            dueDateJson.put("year", due.getYear());
+            dueDateJson.put("month", due.getMonthValue() - 1);
+            dueDateJson.put("day", due.getDayOfMonth());
+            dueDateJson.put("hour", due.getHour());
+            dueDateJson.put("minute", due.getMinute());
         }
         return dueDateJson;
     }
@@ -50,6 +58,7 @@ public class Jsonifier {
     // EFFECTS: returns JSON representation of task
     public static JSONObject taskToJson(Task task) {
         JSONObject taskJson = new JSONObject();
+        taskJson.put("id", task.getId());
         taskJson.put("description", task.getDescription());
         taskJson.put("tags", tagsToJsonArray(task.getTags()));
         taskJson.put("due-date", JSONObject.wrap(dueDateToJson(task.getDueDate())));
@@ -67,11 +76,92 @@ public class Jsonifier {
     }
 
     // EFFECTS: returns JSON array representing list of tasks
-    public static JSONArray taskListToJson(List<Task> tasks) {
+    public static JSONArray taskListToJson(Collection<Task> tasks) {
         JSONArray tasksJsonArray = new JSONArray();
         for (Task t : tasks) {
             tasksJsonArray.put(taskToJson(t));
         }
         return tasksJsonArray;
     }
+
+    // MODIFIES: writer
+    // EFFECTS: writes the JSON representation of tasks to writer, exactly as taskListToJson(tasks).toString()
+    //          would, but one task at a time and without building JSON objects
+    public static void writeTaskList(Collection<Task> tasks, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Task t : tasks) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeTask(t, writer);
+        }
+        writer.write(']');
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes the JSON representation of task to writer
+    //          keys are written in the order in which a JSONObject holding them iterates them
+    private static void writeTask(Task task, Writer writer) throws IOException {
+        writer.write("{\"due-date\":");
+        writeDueDate(task.getDueMinute(), writer);
+        writer.write(",\"description\":");
+        JSONObject.quote(task.getDescription(), writer);
+        writer.write(",\"id\":");
+        writer.write(Long.toString(task.getId()));
+        writer.write(",\"priority\":");
+        writePriority(task.getPriority(), writer);
+        writer.write(",\"tags\":");
+        writeTags(task.getTags(), writer);
+        writer.write(",\"status\":");
+        JSONObject.quote(task.getStatus().name(), writer);
+        writer.write('}');
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes the JSON representation of priority to writer
+    private static void writePriority(Priority priority, Writer writer) throws IOException {
+        writer.write("{\"important\":");
+        writer.write(Boolean.toString(priority.isImportant()));
+        writer.write(",\"urgent\":");
+        writer.write(Boolean.toString(priority.isUrgent()));
+        writer.write('}');
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes the JSON representation of tags to writer
+    private static void writeTags(Set<Tag> tags, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Tag t : tags) {
+            writer.write(first ? "{\"name\":" : ",{\"name\":");
+            first = false;
+            JSONObject.quote(t.getName(), writer);
+            writer.write('}');
+        }
+        writer.write(']');
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes the JSON representation of the due date at dueMinute (null if it is Task.NO_DUE_MINUTE)
+    //          to writer
+    private static void writeDueDate(long dueMinute, Writer writer) throws IOException {
+        if (dueMinute == Task.NO_DUE_MINUTE) {
+            writer.write("null");
+            return;
+        }
+        LocalDateTime due = DueDateCodec.LOCAL.toLocalDateTime(dueMinute);
+        writer.write("{\"month\":");
+        writer.write(Integer.toString(due.getMonthValue() - 1));
+        writer.write(",\"hour\":");
+        writer.write(Integer.toString(due.getHour()));
+        writer.write(",\"year\":");
+        writer.write(Integer.toString(due.getYear()));
+        writer.write(",\"day\":");
+        writer.write(Integer.toString(due.getDayOfMonth()));
+        writer.write(",\"minute\":");
+        writer.write(Integer.toString(due.getMinute()));
+        writer.write('}');
+    }
 }
@@ -0,0 +1,99 @@
+package persistence;
+
+import model.Priority;
+import model.Tag;
+import model.Task;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Converts model elements to the binary snapshot format
+// Layout (big-endian):
+//    header:       int MAGIC, short VERSION, short 0, int number of tasks, int number of strings
+//    string table: for each string, int length in bytes followed by its UTF-8 bytes
+//    task records: long id, int description index, byte flags, long due minute,
+//                  short number of tags, int index of each tag name
+// The due minute counts the minutes since 1970-01-01T00:00Z (see Task.getDueMinute), so a
+// snapshot means the same instants in every time zone; it is 0 for a task with no due date.
+// flags packs the priority (IMPORTANT, URGENT), the presence of a due date (HAS_DUE_DATE)
+// and the status ordinal (bits STATUS_SHIFT and above).
+public class SnapshotEncoder {
+    public static final int MAGIC = 0x504F4D4F;
+    public static final short VERSION = 3;
+    public static final int HEADER_SIZE = 16;
+    public static final int IMPORTANT = 1;
+    public static final int URGENT = 1 << 1;
+    public static final int HAS_DUE_DATE = 1 << 2;
+    public static final int STATUS_SHIFT = 3;
+
+    // MODIFIES: out
+    // EFFECTS: writes tasks to out in the binary snapshot format
+    //          every distinct description and tag name is stored once in the string table
+    public static void write(Collection<Task> tasks, OutputStream out) throws IOException {
+        Map<String, Integer> strings = stringTable(tasks);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(0);
+        data.writeInt(tasks.size());
+        data.writeInt(strings.size());
+        for (String s : strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+        for (Task t : tasks) {
+            writeTask(t, strings, data);
+        }
+        data.flush();
+    }
+
+    // EFFECTS: returns every distinct description and tag name in tasks, mapped to its
+    //          position in the string table
+    private static Map<String, Integer> stringTable(Collection<Task> tasks) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Task t : tasks) {
+            strings.putIfAbsent(t.getDescription(), strings.size());
+            for (Tag tag : t.getTags()) {
+                strings.putIfAbsent(tag.getName(), strings.size());
+            }
+        }
+        return strings;
+    }
+
+    // MODIFIES: data
+    // EFFECTS: writes the fixed-width record of task followed by the indices of its tags
+    private static void writeTask(Task task, Map<String, Integer> strings, DataOutputStream data)
+            throws IOException {
+        long dueMinute = task.getDueMinute();
+        boolean hasDueDate = dueMinute != Task.NO_DUE_MINUTE;
+        data.writeLong(task.getId());
+        data.writeInt(strings.get(task.getDescription()));
+        data.writeByte(flags(task.getPriority(), task.getStatus().ordinal(), hasDueDate));
+        data.writeLong(hasDueDate ? dueMinute : 0);
+        data.writeShort(task.getTags().size());
+        for (Tag tag : task.getTags()) {
+            data.writeInt(strings.get(tag.getName()));
+        }
+    }
+
+    // EFFECTS: returns the flags byte packing priority, status and due date presence
+    private static int flags(Priority priority, int status, boolean hasDueDate) {
+        int flags = status << STATUS_SHIFT;
+        if (priority.isImportant()) {
+            flags |= IMPORTANT;
+        }
+        if (priority.isUrgent()) {
+            flags |= URGENT;
+        }
+        if (hasDueDate) {
+            flags |= HAS_DUE_DATE;
+        }
+        return flags;
+    }
+}
@@ -1,5 +1,6 @@
 package ui;
 
+import controller.AddTaskController;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.layout.StackPane;
 import model.Task;
@@ -12,16 +13,24 @@ public class AddTask extends StackPane {
     private static final String FXML = "resources/fxml/AddTask.fxml";
     private File fxmlFile = new File(FXML);
     private Task task;
+    private AddTaskController controller;
     
     public AddTask() {
         load();
     }
+
+    // MODIFIES: this
+    // EFFECTS: clears the description entered in this add task UI
+    public void clear() {
+        controller.clear();
+    }
     
     private void load() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(fxmlFile.toURI().toURL());
             fxmlLoader.setRoot(this);
             fxmlLoader.load();
+            controller = fxmlLoader.<AddTaskController>getController();
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
@@ -13,18 +13,27 @@ public class EditTask extends StackPane {
     private static final String FXML = "resources/fxml/EditTask.fxml";
     private File fxmlFile = new File(FXML);
     private Task task;
+    private EditTaskController controller;
     
     public EditTask(Task task) {
         this.task = task;
         this.load();
     }
+
+    // REQUIRES: task != null
+    // MODIFIES: this
+    // EFFECTS: shows task in this edit task UI, discarding any unsaved edits
+    public void setTask(Task task) {
+        this.task = task;
+        controller.setTask(task);
+    }
     
     private void load() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(fxmlFile.toURI().toURL());
             fxmlLoader.setRoot(this);
             fxmlLoader.load();
-            EditTaskController controller = fxmlLoader.<EditTaskController>getController();
+            controller = fxmlLoader.<EditTaskController>getController();
             controller.setTask(task);
         } catch (IOException exception) {
             throw new RuntimeException(exception);
@@ -4,31 +4,52 @@ import controller.ListViewController;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.layout.StackPane;
 import model.Task;
+import model.TaskStore;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.util.function.Function;
 
-// List View: Tasks are listed (in no particular order)
+// List View: Tasks are listed in display order, or in the order of a view of the task store
 public class ListView extends StackPane {
     private static final String FXML = "resources/fxml/ListView.fxml";
     private File fxmlFile = new File(FXML);
-    private List<Task> tasks;
+    private TaskStore tasks;
+    private Function<TaskStore, ? extends Iterable<Task>> view;
+    private ListViewController controller;
     
-    // REQUIRES: task != null
+    // REQUIRES: tasks != null
     // MODIFIES: this
-    public ListView(List<Task> tasks) {
+    // EFFECTS: lists tasks in display order
+    public ListView(TaskStore tasks) {
+        this(tasks, ListViewController.DISPLAY_ORDER);
+    }
+
+    // REQUIRES: tasks != null AND view != null
+    // MODIFIES: this
+    // EFFECTS: lists the tasks of tasks selected and ordered by view, e.g. TaskStore::getTasksByPriority
+    public ListView(TaskStore tasks, Function<TaskStore, ? extends Iterable<Task>> view) {
         this.tasks = tasks;
+        this.view = view;
         this.load();
     }
+
+    // REQUIRES: tasks != null AND view != null
+    // MODIFIES: this
+    // EFFECTS: lists the tasks of tasks selected and ordered by view, re-using the rows that are unchanged
+    public void setTasks(TaskStore tasks, Function<TaskStore, ? extends Iterable<Task>> view) {
+        this.tasks = tasks;
+        this.view = view;
+        controller.setData(tasks, view);
+    }
     
     private void load() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(fxmlFile.toURI().toURL());
             fxmlLoader.setRoot(this);
             fxmlLoader.load();
-            ListViewController controller = fxmlLoader.<ListViewController>getController();
-            controller.setData(tasks);
+            controller = fxmlLoader.<ListViewController>getController();
+            controller.setData(tasks, view);
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
@@ -1,22 +1,32 @@
 package ui;
 
+import controller.ListViewController;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import model.Task;
+import model.TaskStore;
 import utility.JsonFileIO;
+import utility.Logger;
+import utility.PersistenceExecutor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.function.Function;
 
 // The PomoTODO GUI Application
 public class PomoTodoApp extends Application {
     public static final String TITLE = "PomoTODO";
     public static final double WIDTH = 520;
     public static final double HEIGHT = 800;
-    private static List<Task> tasks = new ArrayList<>();
+    private static TaskStore tasks = new TaskStore();
     private static Stage primaryStage;
+    private static Scene scene;
+    // The views are loaded from their FXML once, on first use, and kept for later navigations
+    private static ListView listView;
+    private static AddTask addTask;
+    private static EditTask editTask;
     
     public static void main(String[] args) {
         launch(args);
@@ -34,28 +44,98 @@ public class PomoTodoApp extends Application {
         primaryStage = stage;
     }
     
-    // EFFECTS: returns the list of tasks in this PomoTODO APP
-    public static List<Task> getTasks() {
+    // EFFECTS: returns the tasks in this PomoTODO APP, in display order
+    public static TaskStore getTasks() {
         return tasks;
     }
     
     // REQUIRES: primaryStage != null AND root != null
+    // MODIFIES: this
+    // EFFECTS: shows root in the primary stage; the scene is created once and its root swapped afterwards
     public static void setScene(Parent root) {
         try {
-            Scene scene = new Scene(root, WIDTH, HEIGHT);
-            primaryStage.setTitle(TITLE);
-            primaryStage.setScene(scene);
+            if (scene == null) {
+                scene = new Scene(root, WIDTH, HEIGHT);
+                primaryStage.setTitle(TITLE);
+                primaryStage.setScene(scene);
+            } else {
+                scene.setRoot(root);
+            }
             primaryStage.show();
         } catch (Exception e) {
             System.out.println("Failed to load new Scene!");
         }
     }
+
+    // REQUIRES: primaryStage != null
+    // MODIFIES: this
+    // EFFECTS: shows the tasks of this app in the list view, in display order
+    public static void showListView() {
+        showListView(ListViewController.DISPLAY_ORDER);
+    }
+
+    // REQUIRES: primaryStage != null AND view != null
+    // MODIFIES: this
+    // EFFECTS: shows the tasks of this app selected and ordered by view in the list view
+    public static void showListView(Function<TaskStore, ? extends Iterable<Task>> view) {
+        if (listView == null) {
+            listView = new ListView(tasks, view);
+        } else {
+            listView.setTasks(tasks, view);
+        }
+        setScene(listView);
+    }
+
+    // REQUIRES: primaryStage != null
+    // MODIFIES: this
+    // EFFECTS: shows an empty add task UI
+    public static void showAddTask() {
+        if (addTask == null) {
+            addTask = new AddTask();
+        } else {
+            addTask.clear();
+        }
+        setScene(addTask);
+    }
+
+    // REQUIRES: primaryStage != null AND task != null
+    // MODIFIES: this
+    // EFFECTS: shows task in the edit task UI
+    public static void showEditTask(Task task) {
+        if (editTask == null) {
+            editTask = new EditTask(task);
+        } else {
+            editTask.setTask(task);
+        }
+        setScene(editTask);
+    }
     
     // EFFECTS: Application starts here!
     @Override
     public void start(Stage primaryStage) throws Exception {
         tasks = JsonFileIO.read();
+        PersistenceExecutor.setListener(new PersistenceListener());
         setPrimaryStage(primaryStage);
-        setScene(new ListView(tasks));
+        showListView();
+    }
+
+    // EFFECTS: waits for the changes still being saved before the application exits
+    @Override
+    public void stop() {
+        PersistenceExecutor.flush();
+    }
+
+    // Reports the outcome of background saves on the JavaFX application thread
+    private static class PersistenceListener implements PersistenceExecutor.Listener {
+        @Override
+        public void saved(int records) {
+            Platform.runLater(() -> Logger.log("PomoTodoApp", "Saved " + records + " changes"));
+        }
+
+        @Override
+        public void failed(IOException e) {
+            Platform.runLater(() -> Logger.log("PomoTodoApp", "Changes could not be saved, will retry: "
+                    + e.getMessage()));
+        }
     }
 }
@@ -9,23 +9,35 @@ import java.io.File;
 import java.io.IOException;
 
 // Each task is presented in a Todobar
+// A Todobar can be re-bound to another task, so that list cells can reuse theirs
 public class Todobar extends VBox {
     private static final String FXML = "resources/fxml/Todobar.fxml";
     private File fxmlFile = new File(FXML);
-    private Task task;
+    private TodobarController controller;
     
     public Todobar(Task task) {
-        this.task = task;
+        this();
+        setTask(task);
+    }
+
+    // EFFECTS: constructs a Todobar that presents no task until setTask is called
+    public Todobar() {
         load();
     }
+
+    // REQUIRES: task != null
+    // MODIFIES: this
+    // EFFECTS: presents task in this Todobar
+    public void setTask(Task task) {
+        controller.setTask(task);
+    }
     
     private void load() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(fxmlFile.toURI().toURL());
             fxmlLoader.setRoot(this);
             fxmlLoader.load();
-            TodobarController controller = fxmlLoader.<TodobarController>getController();
-            controller.setTask(task);
+            controller = fxmlLoader.<TodobarController>getController();
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
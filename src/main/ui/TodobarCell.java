@@ -0,0 +1,33 @@
+package ui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import model.Task;
+
+// A cell of the task list presenting its task in a Todobar
+// The Todobar is loaded once per cell, when the cell first shows a task; the list view
+// creates only as many cells as fit in the viewport and re-binds them as it scrolls.
+public class TodobarCell extends ListCell<Task> {
+    private Todobar todobar;
+
+    // EFFECTS: constructs an empty cell
+    public TodobarCell() {
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: presents task in this cell, or nothing if the cell is empty
+    @Override
+    protected void updateItem(Task task, boolean empty) {
+        super.updateItem(task, empty);
+        if (empty || task == null) {
+            setGraphic(null);
+            return;
+        }
+        if (todobar == null) {
+            todobar = new Todobar();
+        }
+        todobar.setTask(task);
+        setGraphic(todobar);
+    }
+}
@@ -1,54 +1,273 @@
 package utility;
 
 import model.Task;
+import model.TaskStore;
+import org.json.JSONException;
+import parsers.SnapshotParser;
 import parsers.TaskParser;
+import parsers.exceptions.ParsingException;
 import persistence.Jsonifier;
+import persistence.SnapshotEncoder;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Scanner;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 // File input/output operations
+// Files are replaced crash-safely: the new content is written to a temporary file in the same
+// directory, forced to disk and verified, and then renamed over the file in one atomic step, so
+// a crash leaves either the old or the new content. The replaced versions are kept as backups
+// file.1 (the latest) to file.BACKUP_GENERATIONS (the oldest).
+// A file that does not exist reads as an empty list of tasks; a file that exists but cannot be
+// read throws UncheckedIOException, as a failed write does, so that it is never mistaken for an
+// empty list and replaced by one.
 public class JsonFileIO {
     public static final File jsonDataFile = new File("./resources/json/tasks.json");
+    public static final File snapshotDataFile = new File("./resources/json/tasks.bin");
+    public static final int BACKUP_GENERATIONS = 3;
     
     // EFFECTS: attempts to read jsonDataFile and parse it
-    //           returns a list of tasks from the content of jsonDataFile
-    public static List<Task> read() {
-        List<Task> tasks = new ArrayList<>();
-        try {
-            Scanner scanner = new Scanner(jsonDataFile);
-            String jsonAsString = "";
-            TaskParser taskParser = new TaskParser();
+    //           returns a store of the tasks from the content of jsonDataFile
+    //           changes recorded in the journal since the last snapshot are replayed on top
+    //  throws UncheckedIOException if jsonDataFile or the journal exists but could not be read
+    public static TaskStore read() {
+        return TaskJournal.replay(new TaskStore(read(jsonDataFile)));
+    }
 
-            while (scanner.hasNextLine()) {
-                jsonAsString += scanner.nextLine();
+    // EFFECTS: attempts to read the JSON file and parse it
+    //           returns a list of tasks from the content of file, or an empty list if there is no file
+    //           the file is streamed through a buffered reader, one task at a time
+    //  throws UncheckedIOException if file exists but could not be read
+    public static List<Task> read(File file) {
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath())))) {
+            TaskParser taskParser = new TaskParser();
+            return taskParser.parse(reader);
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getName() + " could not be read", e);
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {  // the tokener reports failed reads this way
+                throw new UncheckedIOException(file.getName() + " could not be read", (IOException) e.getCause());
             }
-            return taskParser.parse(jsonAsString);
-        } catch (FileNotFoundException e) {
-            System.out.println("tasks.json file not found");
+            throw e;
         }
-        return tasks;
     }
     
+    // EFFECTS: attempts to read the whole JSON file into memory and parse it on all cores
+    //           returns a list of tasks from the content of file, or an empty list if there is no file
+    //  throws UncheckedIOException if file exists but could not be read
+    public static List<Task> readParallel(File file) {
+        try {
+            String json = new String(Files.readAllBytes(file.toPath()));
+            return new TaskParser().parseParallel(json);
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getName() + " could not be read", e);
+        }
+    }
+
+    // MODIFIES: jsonDataFile
     // EFFECTS: saves the tasks to jsonDataFile
-    public static void write(List<Task> tasks) {
+    //  throws UncheckedIOException if the tasks could not be saved; jsonDataFile is then unchanged
+    public static void write(Collection<Task> tasks) {
+        write(tasks, jsonDataFile);
+    }
+
+    // MODIFIES: file
+    // EFFECTS: saves the tasks to the JSON file, streaming them one task at a time
+    //  throws UncheckedIOException if the tasks could not be saved; file is then unchanged
+    public static void write(Collection<Task> tasks, File file) {
+        replace(file, out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out));
+            Jsonifier.writeTaskList(tasks, writer);
+            writer.flush();
+        });
+    }
+
+    // EFFECTS: returns the given backup generation of file, 1 being the latest
+    public static File backupOf(File file, int generation) {
+        return new File(file.getPath() + "." + generation);
+    }
+
+    // EFFECTS: attempts to map snapshotDataFile into memory and parse it
+    //           returns a list of tasks from the content of snapshotDataFile, or an empty list if there is none
+    //  throws UncheckedIOException if snapshotDataFile exists but could not be read or is not a valid snapshot
+    public static List<Task> readSnapshot() {
+        return readSnapshot(snapshotDataFile);
+    }
+
+    // EFFECTS: attempts to map the binary snapshot file into memory and parse it
+    //           returns a list of tasks from the content of file, or an empty list if there is no file
+    //  throws UncheckedIOException if file exists but could not be read or is not a valid snapshot
+    public static List<Task> readSnapshot(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SnapshotParser().parse(buffer);
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getName() + " could not be mapped", e);
+        } catch (ParsingException e) {
+            throw new UncheckedIOException(new IOException(file.getName() + " is not a valid snapshot", e));
+        }
+    }
+
+    // MODIFIES: snapshotDataFile
+    // EFFECTS: saves the tasks to snapshotDataFile in the binary snapshot format
+    //  throws UncheckedIOException if the tasks could not be saved; snapshotDataFile is then unchanged
+    public static void writeSnapshot(Collection<Task> tasks) {
+        writeSnapshot(tasks, snapshotDataFile);
+    }
+
+    // MODIFIES: file
+    // EFFECTS: saves the tasks to file in the binary snapshot format
+    //  throws UncheckedIOException if the tasks could not be saved; file is then unchanged
+    public static void writeSnapshot(Collection<Task> tasks, File file) {
+        replace(file, out -> SnapshotEncoder.write(tasks, out));
+    }
+
+    // EFFECTS: converts the tasks in the JSON file to a binary snapshot in snapshotFile
+    public static void convertToSnapshot(File jsonFile, File snapshotFile) {
+        writeSnapshot(read(jsonFile), snapshotFile);
+    }
+
+    // EFFECTS: converts the tasks in the binary snapshot file to JSON in jsonFile
+    public static void convertToJson(File snapshotFile, File jsonFile) {
+        write(readSnapshot(snapshotFile), jsonFile);
+    }
+
+    // MODIFIES: file
+    // EFFECTS: replaces the content of file with the bytes written by content, crash-safely,
+    //          and keeps the replaced content as the latest backup of file
+    //  throws UncheckedIOException if file could not be replaced; file is then unchanged
+    private static void replace(File file, Content content) {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = null;
         try {
-            PrintWriter pw = new PrintWriter(jsonDataFile);
+            temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+            copyPermissions(target, temp);
+            verify(temp, writeForced(temp, content));
+            rotateBackups(target);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+            forceDirectory(target.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getName() + " could not be written", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
 
-            String pwInput = Jsonifier.taskListToJson(tasks).toString();
+    // MODIFIES: to
+    // EFFECTS: gives to the POSIX permissions of from, if from exists and the file system has them, so that
+    //          replacing a file keeps its mode (a temporary file is created readable by its owner only)
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (view != null && Files.exists(from)) {
+            Files.setPosixFilePermissions(to, view.readAttributes().permissions());
+        }
+    }
 
-            pw.write(pwInput);
-            pw.flush();
-            pw.close();
-        } catch (FileNotFoundException e) {
-            System.out.println("tasks.json file not found");
+    // MODIFIES: file
+    // EFFECTS: writes the bytes written by content to file, forces them to disk and returns their checksum
+    private static long writeForced(Path file, Content content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            CheckedOutputStream out = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)), new CRC32());
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+            return out.getChecksum().getValue();
+        }
+    }
+
+    // EFFECTS: reads file back and throws IOException if its checksum is not the given one
+    private static void verify(Path file, long checksum) throws IOException {
+        try (CheckedInputStream in = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), new CRC32())) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // the checksum is updated as the file is read
+            }
+            if (in.getChecksum().getValue() != checksum) {
+                throw new IOException(file.getFileName() + " does not read back as written");
+            }
+        }
+    }
+
+    // MODIFIES: the backups of file
+    // EFFECTS: shifts every backup of file one generation older, dropping the oldest,
+    //          and makes the current content of file, if any, the latest backup
+    private static void rotateBackups(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (int generation = BACKUP_GENERATIONS; generation > 1; generation--) {
+            Path older = backupOf(file.toFile(), generation - 1).toPath();
+            if (Files.exists(older)) {
+                Files.move(older, backupOf(file.toFile(), generation).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path latest = backupOf(file.toFile(), 1).toPath();
+        Files.deleteIfExists(latest);
+        try {
+            Files.createLink(latest, file);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(file, latest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // EFFECTS: forces the entries of directory to disk, so that a rename in it survives a crash;
+    //          does nothing where directories cannot be opened
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on this platform; the rename is still atomic
+        }
+    }
+
+    // EFFECTS: deletes file, if not null, ignoring failures
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
         } catch (IOException e) {
-            System.out.println("PrintWriter Error");
+            // a stale temporary file does not affect later writes
         }
     }
+
+    // Writes the new content of a file
+    private interface Content {
+        // EFFECTS: writes the content to out
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
@@ -0,0 +1,148 @@
+package utility;
+
+import model.Task;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Saves changes to the task list in the background
+// The change records are built on the calling thread, from the state of the task at the time
+// of the call, and queued; a single background thread appends them to the journal. Records
+// queued while a write is pending are coalesced (see TaskJournal.coalesce) and appended with
+// one write. The listener, if any, is told of every write and every failure; records that
+// could not be written stay queued and are retried after a delay that doubles with each
+// consecutive failure (from FIRST_RETRY_DELAY_MS up to MAX_RETRY_DELAY_MS), or sooner by flush.
+public class PersistenceExecutor {
+    public static final long FIRST_RETRY_DELAY_MS = 1000;
+    public static final long MAX_RETRY_DELAY_MS = 60 * 1000;
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<JSONObject> pending = new ArrayList<>();
+    private static boolean scheduled = false;
+    private static volatile Listener listener;
+    private static long retryDelay = FIRST_RETRY_DELAY_MS;  // only used on the persistence thread
+
+    // Told of the outcome of each background write, on the persistence thread
+    public interface Listener {
+        // EFFECTS: called after records journal records have been written
+        void saved(int records);
+
+        // EFFECTS: called when the queued records could not be written
+        void failed(IOException e);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the listener told of the outcome of each write; null for none
+    public static void setListener(Listener listener) {
+        PersistenceExecutor.listener = listener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a record of task being added to the end of the task list
+    public static void logAdd(Task task) {
+        submit(TaskJournal.addRecord(task));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a record of the current state of task
+    public static void logEdit(Task task) {
+        submit(TaskJournal.editRecord(task));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a record of the task with the given id being deleted
+    public static void logDelete(long id) {
+        submit(TaskJournal.deleteRecord(id));
+    }
+
+    // MODIFIES: this, journalDataFile
+    // EFFECTS: waits until every record queued so far has been written (or has failed to be)
+    public static void flush() {
+        try {
+            executor.submit(PersistenceExecutor::write).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues record and schedules a write, unless one is already scheduled
+    private static void submit(JSONObject record) {
+        synchronized (pending) {
+            pending.add(record);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        executor.execute(PersistenceExecutor::write);
+    }
+
+    // MODIFIES: this, journalDataFile
+    // EFFECTS: appends the queued records to the journal and tells the listener of the outcome;
+    //          records that could not be written are queued again and retried later
+    private static void write() {
+        List<JSONObject> records = takePending();
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            TaskJournal.append(records);
+        } catch (IOException e) {
+            retryLater(records, e);
+            return;
+        } catch (UncheckedIOException e) {
+            // the records were appended, but the journal could not be compacted; it is retried next time
+            report(listener -> listener.failed(e.getCause()));
+            return;
+        }
+        retryDelay = FIRST_RETRY_DELAY_MS;
+        report(listener -> listener.saved(records.size()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the queued records and returns them coalesced
+    private static List<JSONObject> takePending() {
+        synchronized (pending) {
+            scheduled = false;
+            List<JSONObject> records = TaskJournal.coalesce(pending);
+            pending.clear();
+            return records;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues records again, ahead of those queued since, schedules a write after the retry delay
+    //          and doubles the delay for the next failure; tells the listener of e
+    private static void retryLater(List<JSONObject> records, IOException e) {
+        synchronized (pending) {
+            pending.addAll(0, records);
+            scheduled = true;
+        }
+        executor.schedule(PersistenceExecutor::write, retryDelay, TimeUnit.MILLISECONDS);
+        retryDelay = Math.min(2 * retryDelay, MAX_RETRY_DELAY_MS);
+        report(listener -> listener.failed(e));
+    }
+
+    // EFFECTS: tells the listener, if any, of an outcome
+    private static void report(Consumer<Listener> outcome) {
+        Listener listener = PersistenceExecutor.listener;
+        if (listener != null) {
+            outcome.accept(listener);
+        }
+    }
+}
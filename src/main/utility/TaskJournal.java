@@ -0,0 +1,330 @@
+package utility;
+
+import model.Task;
+import model.TaskStore;
+import org.json.JSONException;
+import org.json.JSONObject;
+import parsers.TaskParser;
+import persistence.Jsonifier;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only journal of the changes made to the task list since the last snapshot
+// Each add, edit or delete is appended as one JSON record per line; the journal is
+// replayed over the snapshot in jsonDataFile on startup and periodically compacted
+// into a fresh snapshot. A record torn by a crash is cut off the journal when it is
+// replayed. Records identify tasks by id.
+// The log methods write synchronously; PersistenceExecutor builds the same records and
+// appends them from a background thread.
+public class TaskJournal {
+    public static final File journalDataFile = new File("./resources/json/tasks.journal");
+    public static final int COMPACTION_THRESHOLD = 256;
+
+    private static final String OP = "op";
+    private static final String ADD = "add";
+    private static final String EDIT = "edit";
+    private static final String DELETE = "delete";
+    private static final String ID = "id";
+    private static final String TASK = "task";
+
+    private static int records = 0;
+
+    // MODIFIES: journalDataFile
+    // EFFECTS: appends a record of task being added to the end of tasks
+    //          compacts the journal into a snapshot of tasks when it grows too long
+    public static void logAdd(TaskStore tasks, Task task) {
+        append(tasks, addRecord(task));
+    }
+
+    // MODIFIES: journalDataFile
+    // EFFECTS: appends a record of the current state of task, which is stored in tasks
+    //          compacts the journal into a snapshot of tasks when it grows too long
+    public static void logEdit(TaskStore tasks, Task task) {
+        append(tasks, editRecord(task));
+    }
+
+    // REQUIRES: the task with the given id has already been deleted from tasks
+    // MODIFIES: journalDataFile
+    // EFFECTS: appends a record of the task with the given id being deleted
+    //          compacts the journal into a snapshot of tasks when it grows too long
+    public static void logDelete(TaskStore tasks, long id) {
+        append(tasks, deleteRecord(id));
+    }
+
+    // EFFECTS: returns a record of task being added to the end of the task list
+    static JSONObject addRecord(Task task) {
+        JSONObject record = new JSONObject();
+        record.put(OP, ADD);
+        record.put(TASK, Jsonifier.taskToJson(task));
+        return record;
+    }
+
+    // EFFECTS: returns a record of the current state of task
+    static JSONObject editRecord(Task task) {
+        JSONObject record = new JSONObject();
+        record.put(OP, EDIT);
+        record.put(TASK, Jsonifier.taskToJson(task));
+        return record;
+    }
+
+    // EFFECTS: returns a record of the task with the given id being deleted
+    static JSONObject deleteRecord(long id) {
+        JSONObject record = new JSONObject();
+        record.put(OP, DELETE);
+        record.put(ID, id);
+        return record;
+    }
+
+    // EFFECTS: returns records, in order, without the records superseded by a later record of the same task:
+    //          an edit is merged into the pending add or edit of its task, and a delete drops the pending
+    //          add (and itself) or the pending edit of its task
+    static List<JSONObject> coalesce(List<JSONObject> records) {
+        List<JSONObject> result = new ArrayList<>(records.size());
+        Map<Long, Integer> pending = new HashMap<>();  // id -> position in result of its add or edit
+        for (JSONObject record : records) {
+            String op = record.getString(OP);
+            if (op.equals(DELETE)) {
+                coalesceDelete(result, pending, record);
+            } else if (op.equals(ADD) || !mergeEdit(result, pending, record)) {
+                pending.put(taskId(record), result.size());
+                result.add(record);
+            }
+        }
+        result.removeAll(Collections.singleton(null));
+        return result;
+    }
+
+    // MODIFIES: result
+    // EFFECTS: merges the edit record into the pending add or edit of its task in result and returns true,
+    //          or returns false if its task has none
+    private static boolean mergeEdit(List<JSONObject> result, Map<Long, Integer> pending, JSONObject edit) {
+        Integer at = pending.get(taskId(edit));
+        if (at == null) {
+            return false;
+        }
+        result.get(at).put(TASK, edit.getJSONObject(TASK));
+        return true;
+    }
+
+    // MODIFIES: result, pending
+    // EFFECTS: replaces the pending add or edit of the task of the delete record in result with null,
+    //          and adds the delete record to result unless it was an add
+    private static void coalesceDelete(List<JSONObject> result, Map<Long, Integer> pending, JSONObject delete) {
+        Integer at = pending.remove(delete.getLong(ID));
+        boolean wasAdded = at != null && result.get(at).getString(OP).equals(ADD);
+        if (at != null) {
+            result.set(at, null);
+        }
+        if (!wasAdded) {
+            result.add(delete);
+        }
+    }
+
+    // MODIFIES: tasks, journalDataFile
+    // EFFECTS: applies every record in journalDataFile to tasks, in order, and returns tasks
+    //          (see replay(TaskStore, File))
+    //  throws UncheckedIOException if journalDataFile exists but could not be read, or is damaged
+    //         and could not be repaired
+    public static synchronized TaskStore replay(TaskStore tasks) {
+        records = replayRecords(tasks, journalDataFile);
+        return tasks;
+    }
+
+    // MODIFIES: tasks, journal
+    // EFFECTS: applies every record in journal to tasks, in order, and returns tasks
+    //          a record is complete once its line ends; a malformed or incomplete record (e.g. one
+    //          torn by a crash mid-append) ends the replay, and journal is truncated back to the end
+    //          of the last record replayed, so that records appended later are not lost behind it
+    //  throws UncheckedIOException if journal exists but could not be read, or is damaged and could not be repaired
+    public static TaskStore replay(TaskStore tasks, File journal) {
+        replayRecords(tasks, journal);
+        return tasks;
+    }
+
+    // MODIFIES: tasks, journal
+    // EFFECTS: applies the complete records in journal to tasks, in order, truncates journal after the last
+    //          record applied if it is damaged, and returns the number of records applied
+    private static int replayRecords(TaskStore tasks, File journal) {
+        byte[] bytes = readAll(journal);
+        TaskParser taskParser = new TaskParser();
+        int replayed = 0;
+        int start = 0;
+        for (int end = lineEnd(bytes, start); end >= 0; end = lineEnd(bytes, start)) {
+            String line = new String(bytes, start, end - start, StandardCharsets.UTF_8).trim();
+            if (!line.isEmpty()) {
+                if (!applyLine(tasks, line, taskParser)) {
+                    break;
+                }
+                replayed++;
+            }
+            start = end + 1;
+        }
+        if (start < bytes.length) {
+            truncate(journal, start, replayed);
+        }
+        return replayed;
+    }
+
+    // EFFECTS: returns the content of journal, or nothing if there is no journal (i.e., no changes since the
+    //          last snapshot)
+    //  throws UncheckedIOException if journal exists but could not be read
+    private static byte[] readAll(File journal) {
+        try {
+            return Files.readAllBytes(journal.toPath());
+        } catch (NoSuchFileException e) {
+            return new byte[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(journal.getName() + " could not be read", e);
+        }
+    }
+
+    // EFFECTS: returns the position of the first line feed in bytes at or after start, or -1 if there is none
+    private static int lineEnd(byte[] bytes, int start) {
+        for (int i = start; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // MODIFIES: tasks
+    // EFFECTS: applies the record on line to tasks and returns true, or returns false if it is malformed
+    private static boolean applyLine(TaskStore tasks, String line, TaskParser taskParser) {
+        try {
+            apply(tasks, new JSONObject(line), taskParser);
+            return true;
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    // MODIFIES: journal
+    // EFFECTS: cuts the damaged journal off after its first size bytes, which hold the given number of records
+    //  throws UncheckedIOException if it could not be
+    private static void truncate(File journal, long size, int records) {
+        Logger.log("TaskJournal", journal.getName() + " is damaged; replayed " + records + " records");
+        try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(journal.getName() + " could not be repaired", e);
+        }
+    }
+
+    // MODIFIES: jsonDataFile, journalDataFile
+    // EFFECTS: writes tasks as a new snapshot to jsonDataFile and empties the journal
+    //  throws UncheckedIOException if the snapshot could not be written; the journal is then kept
+    public static synchronized void compact(TaskStore tasks) {
+        JsonFileIO.write(tasks.getTasks());
+        if (journalDataFile.exists() && !journalDataFile.delete()) {
+            Logger.log("TaskJournal", journalDataFile.getName() + " could not be cleared");
+        }
+        records = 0;
+    }
+
+    // MODIFIES: tasks
+    // EFFECTS: applies a single journal record to tasks
+    private static void apply(TaskStore tasks, JSONObject record, TaskParser taskParser) {
+        switch (record.getString(OP)) {
+            case ADD:
+                tasks.add(parseRecordTask(record, taskParser));
+                break;
+            case EDIT:
+                applyEdit(tasks, record, taskParser);
+                break;
+            case DELETE:
+                tasks.delete(record.getLong(ID));
+                break;
+            default:
+                throw new JSONException("Unknown journal record " + record.getString(OP));
+        }
+    }
+
+    // MODIFIES: tasks
+    // EFFECTS: replaces the task of an edit record in tasks with the edited task, or adds it if tasks has none
+    private static void applyEdit(TaskStore tasks, JSONObject record, TaskParser taskParser) {
+        Task edited = parseRecordTask(record, taskParser);
+        if (!tasks.update(edited)) {
+            tasks.add(edited);
+        }
+    }
+
+    // EFFECTS: returns the task stored in record
+    //  throws JSONException if the stored task is malformed
+    private static Task parseRecordTask(JSONObject record, TaskParser taskParser) {
+        Task task = taskParser.parseTask(record.getJSONObject(TASK));
+        if (task == null) {
+            throw new JSONException("Malformed task in journal record");
+        }
+        return task;
+    }
+
+    // MODIFIES: jsonDataFile, journalDataFile
+    // EFFECTS: appends records, one per line, to the journal with a single write
+    //          compacts the journal into a snapshot read back from jsonDataFile and the journal
+    //          when it grows too long
+    //  throws IOException if the records could not be appended
+    //         UncheckedIOException if they were appended but the journal could not be compacted
+    static synchronized void append(List<JSONObject> records) throws IOException {
+        write(records);
+        TaskJournal.records += records.size();
+        if (TaskJournal.records >= COMPACTION_THRESHOLD) {
+            compact(JsonFileIO.read());
+        }
+    }
+
+    // MODIFIES: journalDataFile
+    // EFFECTS: appends records, one per line, to the journal with a single write
+    //  throws IOException if the records could not be appended
+    private static void write(List<JSONObject> records) throws IOException {
+        write(records, journalDataFile);
+    }
+
+    // MODIFIES: journal
+    // EFFECTS: appends records, one per line, to journal with a single write
+    //  throws IOException if the records could not be appended
+    static void write(List<JSONObject> records, File journal) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(journal.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (JSONObject record : records) {
+                writer.write(record.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    // EFFECTS: returns the id of the task stored in an add or edit record
+    private static long taskId(JSONObject record) {
+        return record.getJSONObject(TASK).getLong(ID);
+    }
+
+    // MODIFIES: journalDataFile
+    // EFFECTS: appends record as a single line to the journal; compacts when the journal is too long
+    private static synchronized void append(TaskStore tasks, JSONObject record) {
+        try {
+            write(Collections.singletonList(record));
+            records++;
+        } catch (IOException e) {
+            Logger.log("TaskJournal", journalDataFile.getName() + " could not be written; saving a full snapshot");
+            compact(tasks);
+            return;
+        }
+        if (records >= COMPACTION_THRESHOLD) {
+            compact(tasks);
+        }
+    }
+}
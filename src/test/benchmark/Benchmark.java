@@ -0,0 +1,29 @@
+package benchmark;
+
+// A named operation measured by BenchmarkRunner against datasets of increasing size
+public abstract class Benchmark {
+    private final String name;
+
+    // EFFECTS: constructs a benchmark with the given name
+    public Benchmark(String name) {
+        this.name = name;
+    }
+
+    // EFFECTS: returns the name of this benchmark
+    public String getName() {
+        return name;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: prepares the dataset of the given number of tasks; this is not measured
+    public abstract void setUp(int size) throws Exception;
+
+    // EFFECTS: runs the measured operation once and returns a value derived from its result,
+    //          so that the work cannot be optimized away
+    public abstract long run() throws Exception;
+
+    // MODIFIES: this
+    // EFFECTS: releases the dataset prepared by setUp
+    public void tearDown() throws Exception {
+    }
+}
@@ -0,0 +1,263 @@
+package benchmark;
+
+import model.Project;
+import model.Task;
+import model.Todo;
+import org.json.JSONArray;
+import parsers.TaskParser;
+import persistence.Jsonifier;
+import utility.JsonFileIO;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs the benchmarks for the model, parser and persistence hot paths from the command line
+// Usage: java benchmark.BenchmarkRunner [-w warmup iterations] [-i measured iterations]
+//                                       [-f name filter] [sizes ...]
+// e.g.   java benchmark.BenchmarkRunner -f Parser 1000 10000 100000 1000000
+// Datasets are generated from a fixed seed, so runs are reproducible; every result line reports
+// the median and best time of one operation and the median time per task.
+public class BenchmarkRunner {
+    private static final int[] DEFAULT_SIZES = {1000, 10000, 100000};
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 5;
+        int iterations = 10;
+        String filter = "";
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-w": warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "-i": iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "-f": filter = args[++i];
+                    break;
+                default: sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+        if (sizes.isEmpty()) {
+            for (int size : DEFAULT_SIZES) {
+                sizes.add(size);
+            }
+        }
+
+        System.out.printf("%-28s %9s %14s %14s %12s%n", "benchmark", "tasks", "median (us)", "best (us)",
+                "ns/task");
+        for (Benchmark benchmark : benchmarks()) {
+            if (benchmark.getName().contains(filter)) {
+                for (int size : sizes) {
+                    measure(benchmark, size, warmup, iterations);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns every benchmark in the suite
+    public static List<Benchmark> benchmarks() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new TaskConstruction());
+        benchmarks.add(new ProjectProgress());
+        benchmarks.add(new PrioritizedIteration());
+        benchmarks.add(new EstimateUpdate(false));
+        benchmarks.add(new EstimateUpdate(true));
+        benchmarks.add(new TaskParserParse());
+        benchmarks.add(new JsonifierTaskList());
+        benchmarks.add(new JsonFileRoundTrip());
+        return benchmarks;
+    }
+
+    // EFFECTS: runs benchmark against a dataset of size tasks and prints one result line
+    private static void measure(Benchmark benchmark, int size, int warmup, int iterations) throws Exception {
+        benchmark.setUp(size);
+        try {
+            for (int i = 0; i < warmup; i++) {
+                sink += benchmark.run();
+            }
+            long[] times = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                sink += benchmark.run();
+                times[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(times);
+            long median = times[iterations / 2];
+            System.out.printf("%-28s %9d %14.1f %14.1f %12.1f%n", benchmark.getName(), size, median / 1e3,
+                    times[0] / 1e3, (double) median / size);
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    // Task construction, which parses every description for meta-data
+    static class TaskConstruction extends Benchmark {
+        private List<String> descriptions;
+
+        TaskConstruction() {
+            super("Task.<init>");
+        }
+
+        @Override
+        public void setUp(int size) {
+            descriptions = Datasets.descriptions(size);
+        }
+
+        @Override
+        public long run() {
+            long tags = 0;
+            for (String description : descriptions) {
+                tags += new Task(description).getTags().size();
+            }
+            return tags;
+        }
+    }
+
+    // Progress of the root of a tree of nested projects with ten children each
+    static class ProjectProgress extends Benchmark {
+        private Project root;
+
+        ProjectProgress() {
+            super("Project.getProgress");
+        }
+
+        @Override
+        public void setUp(int size) {
+            root = Datasets.projectTree(Datasets.tasks(size), 10);
+        }
+
+        @Override
+        public long run() {
+            return root.getProgress();
+        }
+    }
+
+    // Prioritized iteration over a project holding every task directly
+    static class PrioritizedIteration extends Benchmark {
+        private Project project;
+
+        PrioritizedIteration() {
+            super("Project.iterator");
+        }
+
+        @Override
+        public void setUp(int size) {
+            project = Datasets.flatProject(Datasets.tasks(size));
+        }
+
+        @Override
+        public long run() {
+            long visited = 0;
+            for (Todo td : project) {
+                visited += td.getEstimatedTimeToComplete();
+            }
+            return visited;
+        }
+    }
+
+    // Changing the estimated time to complete of every task of a tree of nested projects
+    // with ten children each, one notification at a time or in a single batch
+    static class EstimateUpdate extends Benchmark {
+        private final boolean batched;
+        private List<Task> tasks;
+        private Project root;
+        private int hours;
+
+        EstimateUpdate(boolean batched) {
+            super(batched ? "Task.setETC (batched)" : "Task.setETC");
+            this.batched = batched;
+        }
+
+        @Override
+        public void setUp(int size) {
+            tasks = Datasets.tasks(size);
+            root = Datasets.projectTree(tasks, 10);
+        }
+
+        @Override
+        public long run() {
+            hours++;
+            if (batched) {
+                Todo.beginBatch();
+            }
+            for (Task t : tasks) {
+                t.setEstimatedTimeToComplete(hours);
+            }
+            if (batched) {
+                Todo.commitBatch();
+            }
+            return root.getEstimatedTimeToComplete();
+        }
+    }
+
+    // Parsing a JSON task list held in memory
+    static class TaskParserParse extends Benchmark {
+        private String json;
+
+        TaskParserParse() {
+            super("TaskParser.parse");
+        }
+
+        @Override
+        public void setUp(int size) {
+            json = Jsonifier.taskListToJson(Datasets.tasks(size)).toString();
+        }
+
+        @Override
+        public long run() {
+            return new TaskParser().parse(json).size();
+        }
+    }
+
+    // Converting a task list to its JSON text
+    static class JsonifierTaskList extends Benchmark {
+        private List<Task> tasks;
+
+        JsonifierTaskList() {
+            super("Jsonifier.taskListToJson");
+        }
+
+        @Override
+        public void setUp(int size) {
+            tasks = Datasets.tasks(size);
+        }
+
+        @Override
+        public long run() {
+            JSONArray json = Jsonifier.taskListToJson(tasks);
+            return json.toString().length();
+        }
+    }
+
+    // Writing a task list to a JSON file and reading it back
+    static class JsonFileRoundTrip extends Benchmark {
+        private List<Task> tasks;
+        private File file;
+
+        JsonFileRoundTrip() {
+            super("JsonFileIO round trip");
+        }
+
+        @Override
+        public void setUp(int size) throws Exception {
+            tasks = Datasets.tasks(size);
+            file = File.createTempFile("tasks", ".json");
+        }
+
+        @Override
+        public long run() {
+            JsonFileIO.write(tasks, file);
+            return JsonFileIO.read(file).size();
+        }
+
+        @Override
+        public void tearDown() {
+            file.delete();
+            for (int generation = 1; generation <= JsonFileIO.BACKUP_GENERATIONS; generation++) {
+                JsonFileIO.backupOf(file, generation).delete();
+            }
+        }
+    }
+}
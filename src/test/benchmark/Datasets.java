@@ -0,0 +1,103 @@
+package benchmark;
+
+import model.DueDate;
+import model.Priority;
+import model.Project;
+import model.Status;
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+// Generates reproducible datasets for benchmarks; the same size always yields the same data
+public class Datasets {
+    public static final long SEED = 210;
+    private static final String[] TAGS = {"cpsc210", "home", "work", "errands", "reading", "project",
+        "exams", "planning", "health", "finance"};
+    private static final String[] WORDS = {"register", "read", "write", "review", "call", "buy", "plan",
+        "email", "fix", "submit", "the", "course", "syllabus", "report", "milk", "notes"};
+
+    // EFFECTS: returns size descriptions, each with a short sentence and tag meta-data
+    public static List<String> descriptions(int size) {
+        Random random = new Random(SEED);
+        List<String> descriptions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            descriptions.add(sentence(random, i) + " ## " + TAGS[random.nextInt(TAGS.length)]
+                    + "; " + TAGS[random.nextInt(TAGS.length)]);
+        }
+        return descriptions;
+    }
+
+    // EFFECTS: returns size tasks with varied priorities, statuses, due dates, tags and progress
+    public static List<Task> tasks(int size) {
+        Random random = new Random(SEED);
+        Status[] statuses = Status.values();
+        Calendar calendar = Calendar.getInstance();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task t = new Task(sentence(random, i));
+            Priority p = new Priority();
+            p.setImportant(random.nextBoolean());
+            p.setUrgent(random.nextBoolean());
+            t.setPriority(p);
+            t.setStatus(statuses[random.nextInt(statuses.length)]);
+            if (random.nextInt(3) != 0) {
+                calendar.clear();
+                calendar.set(2019, random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                        random.nextInt(60));
+                t.setDueDate(new DueDate(calendar.getTime()));
+            }
+            int numberOfTags = random.nextInt(4);
+            for (int j = 0; j < numberOfTags; j++) {
+                t.addTag(TAGS[random.nextInt(TAGS.length)]);
+            }
+            t.setProgress(random.nextInt(101));
+            t.setEstimatedTimeToComplete(random.nextInt(40));
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    // EFFECTS: returns a project holding the given tasks in a tree of nested sub-projects,
+    //          where every project has at most fanOut children
+    public static Project projectTree(List<Task> tasks, int fanOut) {
+        List<Project> level = new ArrayList<>();
+        Project current = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i % fanOut == 0) {
+                current = new Project("leaf " + level.size());
+                level.add(current);
+            }
+            current.add(tasks.get(i));
+        }
+        int depth = 0;
+        while (level.size() > 1) {
+            List<Project> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                if (i % fanOut == 0) {
+                    current = new Project("level " + depth + " project " + parents.size());
+                    parents.add(current);
+                }
+                current.add(level.get(i));
+            }
+            level = parents;
+            depth++;
+        }
+        return level.isEmpty() ? new Project("empty") : level.get(0);
+    }
+
+    // EFFECTS: returns a project holding all of the given tasks directly
+    public static Project flatProject(List<Task> tasks) {
+        Project project = new Project("flat");
+        project.addAll(tasks);
+        return project;
+    }
+
+    // EFFECTS: returns a short, unique sentence
+    private static String sentence(Random random, int i) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " " + i;
+    }
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import model.Task;
+
+import java.lang.management.ManagementFactory;
+
+// Measures the bytes allocated per tag lookup by name on a task, using the allocation
+// counter of the current thread; lookups are expected to allocate nothing
+// Usage: java benchmark.TagLookupAllocation [number of probes]
+public class TagLookupAllocation {
+    private static final int WARMUP_PROBES = 200000;
+    private static final String[] TAGS = {"cpsc210", "project", "home", "errand", "reading"};
+    private static final String[] PROBES = {"cpsc210", "reading", "missing", "work", "project"};
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int probes = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Task task = new Task("Read the syllabus");
+        for (String tag : TAGS) {
+            task.addTag(tag);
+        }
+
+        containsTag(task, WARMUP_PROBES);
+        removeMissingTag(task, WARMUP_PROBES);
+
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        containsTag(task, probes);
+        long after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        report("containsTag(String)", after - before, probes);
+
+        before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        removeMissingTag(task, probes);
+        after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        report("removeTag(String), absent", after - before, probes);
+        System.out.println("(" + sink + ")");
+    }
+
+    // EFFECTS: probes task for a tag name probes times
+    private static void containsTag(Task task, int probes) {
+        for (int i = 0; i < probes; i++) {
+            if (task.containsTag(PROBES[i % PROBES.length])) {
+                sink++;
+            }
+        }
+    }
+
+    // MODIFIES: task
+    // EFFECTS: removes a tag that task does not have probes times
+    private static void removeMissingTag(Task task, int probes) {
+        for (int i = 0; i < probes; i++) {
+            task.removeTag(PROBES[2 + i % 2]);
+        }
+        sink += task.getTags().size();
+    }
+
+    // EFFECTS: prints the number of bytes allocated per probe
+    private static void report(String label, long bytes, int probes) {
+        System.out.printf("%-28s %10.3f bytes/probe (%d bytes in total)%n", label, (double) bytes / probes, bytes);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import parsers.TaskParser;
+
+// Measures the per-task cost of TaskParser on generated JSON arrays, both for the whole
+// parse and for validating and building tasks from already tokenized JSONObjects
+// Usage: java benchmark.TaskParserBenchmark [number of tasks]
+public class TaskParserBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private static final String VALID = "{\"due-date\":{\"month\":1,\"hour\":23,\"year\":2019,\"day\":16,"
+            + "\"minute\":59},\"description\":\"Register for the course %d\",\"priority\":{\"important\":true,"
+            + "\"urgent\":false},\"tags\":[{\"name\":\"cpsc210\"},{\"name\":\"t%d\"}],\"status\":\"IN_PROGRESS\"}";
+    private static final String MALFORMED = "{\"due-date\":{\"month\":1,\"hour\":23,\"year\":2019,\"day\":16},"
+            + "\"description\":\"Missing minute %d\",\"priority\":{\"important\":true,\"urgent\":false},"
+            + "\"tags\":[{\"name\":\"t%d\"}],\"status\":\"TODO\"}";
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        report("parse, valid", generate(size, 0), size);
+        report("parse, half malformed", generate(size, 2), size);
+        reportParseTask("parseTask, valid", new JSONArray(generate(size, 0)), size);
+        reportParseTask("parseTask, half malformed", new JSONArray(generate(size, 2)), size);
+    }
+
+    // EFFECTS: returns a JSON array of size tasks; every n-th task is malformed (none if n == 0)
+    static String generate(int size, int n) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String entry = (n != 0 && i % n == 0) ? MALFORMED : VALID;
+            json.append(String.format(entry, i, i % 100));
+        }
+        return json.append(']').toString();
+    }
+
+    // EFFECTS: parses input repeatedly and prints the mean cost per task in nanoseconds
+    private static void report(String label, String input, int size) {
+        TaskParser parser = new TaskParser();
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += parser.parse(input).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parser.parse(input).size();
+        }
+        long perTask = (System.nanoTime() - start) / ((long) MEASURED_ITERATIONS * size);
+        System.out.println(label + ": " + perTask + " ns/task (" + sink + ")");
+    }
+
+    // EFFECTS: validates and builds every task in entries repeatedly and prints the mean cost
+    //          per task in nanoseconds
+    private static void reportParseTask(String label, JSONArray entries, int size) {
+        TaskParser parser = new TaskParser();
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += parseAll(parser, entries);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parseAll(parser, entries);
+        }
+        long perTask = (System.nanoTime() - start) / ((long) MEASURED_ITERATIONS * size);
+        System.out.println(label + ": " + perTask + " ns/task (" + sink + ")");
+    }
+
+    // EFFECTS: returns the number of entries that parser accepts as tasks
+    private static int parseAll(TaskParser parser, JSONArray entries) {
+        int parsed = 0;
+        for (Object entry : entries) {
+            if (parser.parseTask((JSONObject) entry) != null) {
+                parsed++;
+            }
+        }
+        return parsed;
+    }
+}
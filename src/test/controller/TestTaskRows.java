@@ -0,0 +1,136 @@
+package controller;
+
+import model.Task;
+import model.TaskStoreChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskRows {
+    private Task t1;
+    private Task t2;
+    private Task t3;
+    private Task t4;
+    private RecordingList shown;
+
+    @BeforeEach
+    public void runBefore() {
+        t1 = new Task("t1");
+        t2 = new Task("t2");
+        t3 = new Task("t3");
+        t4 = new Task("t4");
+        shown = new RecordingList(Arrays.asList(t1, t2, t3, t4));
+    }
+
+    @Test
+    void testPatchUnchangedTouchesNothing() {
+        TaskRows.patch(shown, Arrays.asList(t1, t2, t3, t4));
+        assertEquals(Arrays.asList(t1, t2, t3, t4), shown);
+        assertEquals(0, shown.rowsChanged);
+    }
+
+    @Test
+    void testPatchReplacesOnlyChangedMiddle() {
+        Task t5 = new Task("t5");
+        TaskRows.patch(shown, Arrays.asList(t1, t5, t3, t4));
+        assertEquals(Arrays.asList(t1, t5, t3, t4), shown);
+        assertEquals(2, shown.rowsChanged);
+    }
+
+    @Test
+    void testPatchInsertAndRemove() {
+        Task t5 = new Task("t5");
+        TaskRows.patch(shown, Arrays.asList(t1, t2, t5, t3, t4));
+        assertEquals(Arrays.asList(t1, t2, t5, t3, t4), shown);
+        assertEquals(1, shown.rowsChanged);
+
+        shown.rowsChanged = 0;
+        TaskRows.patch(shown, Arrays.asList(t2, t5, t3, t4));
+        assertEquals(Arrays.asList(t2, t5, t3, t4), shown);
+        assertEquals(1, shown.rowsChanged);
+    }
+
+    @Test
+    void testPatchRepeatedTaskIsNotCountedTwice() {
+        TaskRows.patch(shown, Arrays.asList(t1, t4));
+        assertEquals(Arrays.asList(t1, t4), shown);
+        assertEquals(2, shown.rowsChanged);
+
+        TaskRows.patch(shown, new ArrayList<>());
+        assertTrue(shown.isEmpty());
+        TaskRows.patch(shown, Arrays.asList(t3, t1));
+        assertEquals(Arrays.asList(t3, t1), shown);
+    }
+
+    @Test
+    void testPatchComparesByIdentity() {
+        Task copy = new Task(t2.getId(), "t2 copy");
+        TaskRows.patch(shown, Arrays.asList(t1, copy, t3, t4));
+        assertSame(copy, shown.get(1));
+        assertEquals(2, shown.rowsChanged);
+    }
+
+    @Test
+    void testApplyAtIndex() {
+        Task t5 = new Task("t5");
+        TaskRows.apply(shown, new TaskStoreChange(TaskStoreChange.Kind.ADDED, t5, 4));
+        TaskRows.apply(shown, new TaskStoreChange(TaskStoreChange.Kind.REMOVED, t2, 1));
+        TaskRows.apply(shown, new TaskStoreChange(TaskStoreChange.Kind.UPDATED, t3, 1));
+        assertEquals(Arrays.asList(t1, t3, t4, t5), shown);
+        assertEquals(3, shown.rowsChanged);
+    }
+
+    @Test
+    void testRedrawSetsOnlyRowOfTask() {
+        TaskRows.redraw(shown, t3);
+        assertEquals(1, shown.rowsChanged);
+        TaskRows.redraw(shown, new Task("not shown"));
+        assertEquals(1, shown.rowsChanged);
+        assertEquals(Arrays.asList(t1, t2, t3, t4), shown);
+    }
+
+    // A list counting the rows added, removed and set, as a ListView would redraw them
+    private static class RecordingList extends ArrayList<Task> {
+        private int rowsChanged;
+
+        RecordingList(Collection<Task> tasks) {
+            super(tasks);
+        }
+
+        @Override
+        public void add(int index, Task task) {
+            rowsChanged++;
+            super.add(index, task);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Task> tasks) {
+            rowsChanged += tasks.size();
+            return super.addAll(index, tasks);
+        }
+
+        @Override
+        public Task remove(int index) {
+            rowsChanged++;
+            return super.remove(index);
+        }
+
+        @Override
+        public Task set(int index, Task task) {
+            rowsChanged++;
+            return super.set(index, task);
+        }
+
+        @Override
+        protected void removeRange(int from, int to) {
+            rowsChanged += to - from;
+            super.removeRange(from, to);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -401,5 +402,327 @@ public class TestProject {
         }
     }
 
+    @Test
+    void testGetProgressUpdatesWhenTaskProgressChanges() {
+        Task task1 = new Task("task 1");
+        Task task2 = new Task("task 2");
+        testProject.add(task1);
+        testProject.add(task2);
+        assertEquals(0, testProject.getProgress());
+        task1.setProgress(100);
+        assertEquals(50, testProject.getProgress());
+        task2.setProgress(51);
+        assertEquals(75, testProject.getProgress());
+        task1.setProgress(0);
+        assertEquals(25, testProject.getProgress());
+    }
+
+    @Test
+    void testGetProgressUpdatesThroughSubProjects() {
+        Project project1 = new Project("proj1");
+        Project project2 = new Project("proj2");
+        Task task1 = new Task("task1");
+        Task task2 = new Task("task2");
+        Task task3 = new Task("task3");
+        project1.add(task1);
+        project1.add(task2);
+        project2.add(project1);
+        testProject.add(project2);
+        testProject.add(task3);
+
+        task1.setProgress(100);
+        assertEquals(50, project1.getProgress());
+        assertEquals(50, project2.getProgress());
+        assertEquals(25, testProject.getProgress());
+        task2.setProgress(100);
+        task3.setProgress(100);
+        assertEquals(100, testProject.getProgress());
+        assertTrue(testProject.isCompleted());
+    }
+
+    @Test
+    void testGetProgressAfterRemove() {
+        Task task1 = new Task("task 1");
+        Task task2 = new Task("task 2");
+        task1.setProgress(100);
+        testProject.add(task1);
+        testProject.add(task2);
+        assertEquals(50, testProject.getProgress());
+        testProject.remove(task2);
+        assertEquals(100, testProject.getProgress());
+        task2.setProgress(20);
+        assertEquals(100, testProject.getProgress());
+        testProject.remove(task1);
+        assertEquals(0, testProject.getProgress());
+    }
+
+    @Test
+    void testAddAllPreservesOrderAndSkipsDuplicates() {
+        Task task1 = new Task("task 1");
+        Task task2 = new Task("task 2");
+        Task task3 = new Task("task 3");
+        testProject.add(task2);
+        List<Todo> toAdd = new ArrayList<>();
+        toAdd.add(task1);
+        toAdd.add(task2);
+        toAdd.add(task3);
+        toAdd.add(testProject);
+        testProject.addAll(toAdd);
+        assertEquals(3, testProject.getNumberOfTasks());
+
+        List<Todo> iteratedList = new ArrayList<>();
+        for (Todo td : testProject) {
+            iteratedList.add(td);
+        }
+        assertEquals(task2, iteratedList.get(0));
+        assertEquals(task1, iteratedList.get(1));
+        assertEquals(task3, iteratedList.get(2));
+    }
+
+    @Test
+    void testAddAllAndRemoveAllNotifyOnce() {
+        Project parent = new Project("parent");
+        parent.add(testProject);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Task t = new Task("task " + i);
+            t.setProgress(100);
+            tasks.add(t);
+        }
+        int[] notifications = {0};
+        testProject.addObserver((o, arg) -> notifications[0]++);
+
+        testProject.addAll(tasks);
+        assertEquals(1, notifications[0]);
+        assertEquals(100, parent.getProgress());
+
+        testProject.removeAll(tasks.subList(0, 5));
+        assertEquals(5, testProject.getNumberOfTasks());
+        assertEquals(1, notifications[0]);
+        testProject.removeAll(tasks);
+        assertEquals(0, testProject.getNumberOfTasks());
+        assertEquals(2, notifications[0]);
+        assertEquals(0, parent.getProgress());
+    }
+
+    @Test
+    void testAddAllChangingProgressAndEstimateNotifiesOnce() {
+        Project root = new Project("root");
+        Project parent = new Project("parent");
+        root.add(parent);
+        parent.add(testProject);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Task t = new Task("task " + i);
+            t.setEstimatedTimeToComplete(i + 1);
+            t.setProgress(50);
+            tasks.add(t);
+        }
+        List<TodoChange> changes = new ArrayList<>();
+        testProject.addObserver((o, arg) -> changes.add((TodoChange) arg));
+        int[] rootNotifications = {0};
+        root.addObserver((o, arg) -> rootNotifications[0]++);
+
+        testProject.addAll(tasks);
+        assertEquals(1, changes.size());
+        assertEquals(TodoChange.Kind.PROGRESS_AND_ESTIMATE, changes.get(0).getKind());
+        assertEquals(50, changes.get(0).getDelta());
+        assertEquals(10, changes.get(0).getEstimateDelta());
+        assertEquals(10, root.getEstimatedTimeToComplete());
+        assertEquals(50, root.getProgress());
+
+        testProject.removeAll(tasks.subList(0, 2));
+        assertEquals(2, changes.size());
+        assertEquals(TodoChange.Kind.ESTIMATED_TIME_TO_COMPLETE, changes.get(1).getKind());
+        assertEquals(-3, changes.get(1).getEstimateDelta());
+        assertEquals(7, root.getEstimatedTimeToComplete());
+        assertEquals(2, rootNotifications[0]);
+    }
+
+    @Test
+    void testAddAllThrowNullArgumentException() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task("task 1"));
+        tasks.add(null);
+        try {
+            testProject.addAll(tasks);
+            fail("No exception was thrown");
+        } catch (NullArgumentException e) {
+            System.out.println("Caught expected NullArgumentException");
+        }
+        assertEquals(0, testProject.getNumberOfTasks());
+    }
+
+    @Test
+    void testIteratorFollowsPriorityChangesAfterAdd() {
+        Task t1 = new Task("t1");
+        Task t2 = new Task("t2");
+        Task t3 = new Task("t3");
+        Task t4 = new Task("t4");
+        testProject.add(t1);
+        testProject.add(t2);
+        testProject.add(t3);
+        testProject.add(t4);
+
+        Priority urgent = new Priority();
+        urgent.setUrgent(true);
+        t4.setPriority(urgent);
+        t1.setPriority(urgent);
+        t3.setPriority(new Priority(1));
+
+        ArrayList<Todo> comparisonList = new ArrayList<>();
+        comparisonList.add(t3);
+        comparisonList.add(t1);
+        comparisonList.add(t4);
+        comparisonList.add(t2);
+
+        ArrayList<Todo> iteratedList = new ArrayList<>();
+        for (Todo td : testProject) {
+            iteratedList.add(td);
+        }
+        assertEquals(comparisonList, iteratedList);
+    }
+
+    @Test
+    void testIteratorFollowsPriorityParsedFromDescription() {
+        Task t1 = new Task("t1");
+        Task t2 = new Task("t2");
+        testProject.add(t1);
+        testProject.add(t2);
+        t2.setDescription("t2 ## important; urgent");
+
+        Iterator<Todo> iterator = testProject.iterator();
+        assertEquals(t2, iterator.next());
+        assertEquals(t1, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testIteratorSkipsRemovedTasks() {
+        Task t1 = new Task("t1");
+        Task t2 = new Task("t2");
+        t1.setPriority(new Priority(1));
+        testProject.add(t1);
+        testProject.add(t2);
+        testProject.remove(t1);
+        t1.setPriority(new Priority(4));
+
+        Iterator<Todo> iterator = testProject.iterator();
+        assertEquals(t2, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testGetEstimatedTimeToCompleteAfterRemove() {
+        Task task1 = new Task("task1");
+        Task task2 = new Task("task2");
+        task1.setEstimatedTimeToComplete(8);
+        task2.setEstimatedTimeToComplete(2);
+        Project parent = new Project("parent");
+        parent.add(testProject);
+        testProject.add(task1);
+        testProject.add(task2);
+        assertEquals(10, parent.getEstimatedTimeToComplete());
+
+        testProject.remove(task1);
+        task1.setEstimatedTimeToComplete(20);
+        assertEquals(2, testProject.getEstimatedTimeToComplete());
+        assertEquals(2, parent.getEstimatedTimeToComplete());
+    }
+
+    @Test
+    void testBatchReportsEachProjectOnce() {
+        Project root = new Project("root");
+        Project middle = new Project("middle");
+        root.add(middle);
+        root.add(testProject);
+        middle.add(testProject);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Task t = new Task("task " + i);
+            tasks.add(t);
+            testProject.add(t);
+        }
+        Task direct = new Task("direct");
+        root.add(direct);
+        int[] notifications = {0};
+        root.addObserver((o, arg) -> notifications[0]++);
+
+        Todo.beginBatch();
+        for (Task t : tasks) {
+            t.setEstimatedTimeToComplete(3);
+        }
+        direct.setEstimatedTimeToComplete(5);
+        assertEquals(0, root.getEstimatedTimeToComplete());
+        Todo.commitBatch();
+
+        assertEquals(30, testProject.getEstimatedTimeToComplete());
+        assertEquals(30, middle.getEstimatedTimeToComplete());
+        assertEquals(65, root.getEstimatedTimeToComplete());
+        assertEquals(2, notifications[0]);
+    }
+
+    @Test
+    void testNestedBatchesReportOnOutermostCommit() {
+        Task task = new Task("task");
+        testProject.add(task);
+
+        Todo.beginBatch();
+        Todo.beginBatch();
+        task.setEstimatedTimeToComplete(4);
+        Todo.commitBatch();
+        assertEquals(0, testProject.getEstimatedTimeToComplete());
+        task.setEstimatedTimeToComplete(6);
+        testProject.add(new Task("other"));
+        Todo.commitBatch();
+        assertEquals(6, testProject.getEstimatedTimeToComplete());
+
+        task.setEstimatedTimeToComplete(1);
+        assertEquals(1, testProject.getEstimatedTimeToComplete());
+    }
 
+    @Test
+    void testCommitBatchThrowIllegalStateException() {
+        try {
+            Todo.commitBatch();
+            fail("No exception was thrown");
+        } catch (IllegalStateException e) {
+            System.out.println("Caught expected IllegalStateException");
+        }
+    }
+
+    @Test
+    void testAddInBatch() {
+        Project parent = new Project("parent");
+        parent.add(testProject);
+        Task task = new Task("task");
+
+        Todo.beginBatch();
+        task.setEstimatedTimeToComplete(5);
+        testProject.add(task);
+        assertEquals(0, testProject.getEstimatedTimeToComplete());
+        Todo.commitBatch();
+
+        assertEquals(5, testProject.getEstimatedTimeToComplete());
+        assertEquals(5, parent.getEstimatedTimeToComplete());
+    }
+
+    @Test
+    void testRemoveInBatch() {
+        Project parent = new Project("parent");
+        parent.add(testProject);
+        Task task = new Task("task");
+        task.setEstimatedTimeToComplete(2);
+        testProject.add(task);
+
+        Todo.beginBatch();
+        task.setEstimatedTimeToComplete(6);
+        testProject.remove(task);
+        Todo.commitBatch();
+
+        assertEquals(0, testProject.getEstimatedTimeToComplete());
+        assertEquals(0, parent.getEstimatedTimeToComplete());
+        task.setEstimatedTimeToComplete(1);
+        assertEquals(0, testProject.getEstimatedTimeToComplete());
+    }
 }
@@ -7,6 +7,10 @@ import model.exceptions.NullArgumentException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -243,6 +247,23 @@ public class TestTask {
         }
     }
 
+    @Test
+    void testGetTagsIsUnmodifiableView() {
+        Set<Tag> tags = testTask.getTags();
+        testTask.addTag("TestTag1");
+        assertTrue(tags.contains(new Tag("TestTag1")));
+        assertFalse(tags.contains("TestTag1"));
+        assertEquals(1, tags.size());
+        try {
+            tags.add(new Tag("TestTag2"));
+            fail("Exception not thrown");
+        } catch (UnsupportedOperationException e) {
+            System.out.println("Expected UnsupportedOperationException caught");
+        }
+        testTask.removeTag("TestTag1");
+        assertTrue(tags.isEmpty());
+    }
+
     @Test
     void testRemoveTagThrowEmptyStringException() {
         try {
@@ -339,27 +360,78 @@ public class TestTask {
     @Test
     void testTaskOverridenEquals() {
         Task testTask2 = new Task("Hello, this is a description");
-        assertTrue(testTask2.equals(testTask));
+        assertFalse(testTask2.equals(testTask));
         assertTrue(testTask2.equals(testTask2));
         assertFalse(testTask2.equals(new Tag("hello")));
+
+        Task copy = new Task(testTask.getId(), "Another description");
+        assertTrue(copy.equals(testTask));
+        assertEquals(testTask.hashCode(), copy.hashCode());
     }
 
     @Test
     void testTaskOverridenEqualsPart2() {
-        Task testTask2 = new Task("Hello, this is a description");
+        Task testTask2 = new Task(testTask.getId(), "Hello, this is a description");
         DueDate dueDate = new DueDate();
         Priority p = new Priority();
         p.setUrgent(true);
 
-        testTask2.setDueDate(dueDate);
-        testTask2.setPriority(p);
-        assertFalse(testTask2.equals(testTask));
-        assertTrue(testTask2.equals(testTask2));
-        assertFalse(testTask2.equals(new Tag("hello")));
-
-        testTask.setPriority(p);
+        int hash = testTask.hashCode();
         testTask.setDueDate(dueDate);
+        testTask.setPriority(p);
+        testTask.setDescription("new description ## tag");
         assertTrue(testTask2.equals(testTask));
+        assertEquals(hash, testTask.hashCode());
+    }
+
+    @Test
+    void testConstructorWithFieldsDoesNotParse() {
+        Priority p = new Priority(1);
+        DueDate dueDate = new DueDate();
+        Task task = new Task("Read ## urgent; tag", p, Status.UP_NEXT, dueDate);
+        assertEquals("Read ## urgent; tag", task.getDescription());
+        assertSame(p, task.getPriority());
+        assertEquals(Status.UP_NEXT, task.getStatus());
+        assertEquals(dueDate, task.getDueDate());
+        assertTrue(task.getTags().isEmpty());
+    }
+
+    @Test
+    void testConstructorWithFieldsThrowNullArgumentException() {
+        try {
+            new Task("Read", new Priority(), null, Task.NO_DUE_DATE);
+            fail("Exception not thrown");
+        } catch (NullArgumentException e) {
+            System.out.println("Expected NullArgumentException caught");
+        }
+    }
+
+    @Test
+    void testIdsAreUniqueAndIncreasing() {
+        Task testTask2 = new Task("task 2");
+        assertTrue(testTask2.getId() > testTask.getId());
+        Task restored = new Task(testTask2.getId() + 100, "restored");
+        assertTrue(new Task("task 3").getId() > restored.getId());
+    }
+
+    @Test
+    void testConstructorThrowNegativeInputException() {
+        try {
+            new Task(0, "task");
+            fail("Exception not thrown");
+        } catch (NegativeInputException e) {
+            System.out.println("Expected NegativeInputException caught");
+        }
+    }
+
+    @Test
+    void testTagKeepsTaskAfterDescriptionChange() {
+        testTask.addTag("TestTag1");
+        Tag tag = testTask.getTags().iterator().next();
+        testTask.setDescription("changed description");
+        assertTrue(tag.containsTask(testTask));
+        tag.removeTask(testTask);
+        assertFalse(testTask.containsTag("TestTag1"));
     }
 
     @Test
@@ -423,4 +495,47 @@ public class TestTask {
         }
     }
 
+
+    @Test
+    void testDueMinute() {
+        Task task = new Task("no due date");
+        assertEquals(Task.NO_DUE_MINUTE, task.getDueMinute());
+        Date due = new Date(1550361540000L);
+        task.setDueDate(new DueDate(due));
+        assertEquals(due.getTime() / 60000, task.getDueMinute());
+        task = new Task("Celebrate ## today");
+        assertEquals(Math.floorDiv(task.getDueDate().getDate().getTime(), 60000), task.getDueMinute());
+        task.setDueDate(Task.NO_DUE_DATE);
+        assertEquals(Task.NO_DUE_MINUTE, task.getDueMinute());
+    }
+
+    @Test
+    void testDueDateChangedInPlace() {
+        DueDate due = new DueDate(new Date(1550361540000L));
+        testTask.setDueDate(due);
+        due.postponeOneWeek();
+        assertEquals(1550361540000L / 60000, testTask.getDueMinute());
+        assertEquals(new DueDate(new Date(1550361540000L)), testTask.getDueDate());
+
+        testTask.getDueDate().postponeOneDay();
+        assertEquals((1550361540000L + 24 * 60 * 60000L) / 60000, testTask.getDueMinute());
+        assertEquals(Math.floorDiv(testTask.getDueDate().getDate().getTime(), 60000), testTask.getDueMinute());
+    }
+
+    @Test
+    void testTomorrowIsDueTheNextDay() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        assertEquals(tomorrow, dayOf(new Task("b ## tomorrow")));
+        assertEquals(tomorrow, dayOf(new Task("c ## tomorrow")));
+        assertEquals(tomorrow, dayOf(new Task("b ## tomorrow")));
+        testTask.setDescription("b ## tomorrow");
+        assertEquals(tomorrow, dayOf(testTask));
+        assertEquals(tomorrow, Instant.ofEpochSecond(testTask.getDueMinute() * 60)
+                .atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    // EFFECTS: returns the day on which task is due, in the default time zone
+    private static LocalDate dayOf(Task task) {
+        return task.getDueDate().getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
 }
@@ -0,0 +1,311 @@
+package model;
+
+import model.exceptions.EmptyStringException;
+import model.exceptions.NullArgumentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskStore {
+    private TaskStore store;
+    private Task t1;
+    private Task t2;
+    private Task t3;
+
+    @BeforeEach
+    public void newStore() {
+        store = new TaskStore();
+        t1 = new Task("task 1");
+        t2 = new Task("task 2");
+        t3 = new Task("task 3");
+    }
+
+    @Test
+    void testConstructor() {
+        assertTrue(store.isEmpty());
+        assertEquals(0, store.size());
+        store = new TaskStore(Arrays.asList(t2, t1, t2));
+        assertEquals(2, store.size());
+        assertEquals(Arrays.asList(t2, t1), new ArrayList<>(store.getTasks()));
+    }
+
+    @Test
+    void testAddKeepsDisplayOrder() {
+        assertTrue(store.add(t3));
+        assertTrue(store.add(t1));
+        assertTrue(store.add(t2));
+        assertFalse(store.add(t1));
+
+        List<Task> iterated = new ArrayList<>();
+        for (Task t : store) {
+            iterated.add(t);
+        }
+        assertEquals(Arrays.asList(t3, t1, t2), iterated);
+    }
+
+    @Test
+    void testGetById() {
+        store.add(t1);
+        store.add(t2);
+        assertSame(t2, store.get(t2.getId()));
+        assertTrue(store.contains(t1.getId()));
+        assertNull(store.get(t3.getId()));
+        assertFalse(store.contains(t3.getId()));
+    }
+
+    @Test
+    void testUpdateKeepsPosition() {
+        store.add(t1);
+        store.add(t2);
+        store.add(t3);
+        Task edited = new Task(t2.getId(), "task 2, edited");
+        assertTrue(store.update(edited));
+        assertEquals(Arrays.asList(t1, edited, t3), new ArrayList<>(store.getTasks()));
+        assertSame(edited, store.get(t2.getId()));
+
+        assertFalse(store.update(new Task("not stored")));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testDeleteIdenticalTasks() {
+        Task twin = new Task("task 1");
+        store.add(t1);
+        store.add(twin);
+        assertSame(twin, store.delete(twin.getId()));
+        assertEquals(1, store.size());
+        assertSame(t1, store.get(t1.getId()));
+        assertNull(store.delete(twin.getId()));
+    }
+
+    @Test
+    void testGetTasksIsUnmodifiable() {
+        store.add(t1);
+        try {
+            store.getTasks().clear();
+            fail("Exception not thrown");
+        } catch (UnsupportedOperationException e) {
+            System.out.println("Caught expected UnsupportedOperationException");
+        }
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testAddThrowNullArgumentException() {
+        try {
+            store.add(null);
+            fail("Exception not thrown");
+        } catch (NullArgumentException e) {
+            System.out.println("Caught expected NullArgumentException");
+        }
+    }
+
+    @Test
+    void testStatusIndexFollowsSetStatus() {
+        store.add(t1);
+        store.add(t2);
+        store.add(t3);
+        t3.setStatus(Status.DONE);
+        t1.setStatus(Status.DONE);
+        assertEquals(Arrays.asList(t1, t3), new ArrayList<>(store.getTasks(Status.DONE)));
+        assertEquals(Arrays.asList(t2), new ArrayList<>(store.getTasks(Status.TODO)));
+        assertEquals(Arrays.asList(t2, t1, t3), store.getTasksByStatus());
+
+        store.delete(t1.getId());
+        t1.setStatus(Status.TODO);
+        assertEquals(Arrays.asList(t3), new ArrayList<>(store.getTasks(Status.DONE)));
+        assertEquals(Arrays.asList(t2), new ArrayList<>(store.getTasks(Status.TODO)));
+    }
+
+    @Test
+    void testPriorityIndexFollowsSetPriorityAndDescription() {
+        store.add(t1);
+        store.add(t2);
+        store.add(t3);
+        t3.setPriority(new Priority(1));
+        t2.setDescription("task 2 ## important");
+        assertEquals(Arrays.asList(t3, t2, t1), store.getTasksByPriority());
+        assertEquals(Arrays.asList(t2), new ArrayList<>(store.getTasksWithPriority(new Priority(2))));
+    }
+
+    @Test
+    void testDueDateIndexIsSorted() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2019, Calendar.FEBRUARY, 2, 23, 59);
+        Date later = calendar.getTime();
+        calendar.set(2019, Calendar.JANUARY, 16, 23, 59);
+        Date earlier = calendar.getTime();
+
+        store.add(t1);
+        store.add(t2);
+        store.add(t3);
+        t1.setDueDate(new DueDate(later));
+        t2.setDueDate(new DueDate(earlier));
+        t3.setDueDate(new DueDate(later));
+        assertEquals(Arrays.asList(t2, t1, t3), store.getTasksByDueDate());
+        assertEquals(Arrays.asList(t2), store.getTasksDueBefore(later));
+
+        t2.setDueDate(Task.NO_DUE_DATE);
+        assertEquals(Arrays.asList(t1, t3), store.getTasksByDueDate());
+        assertTrue(store.getTasksDueBefore(later).isEmpty());
+    }
+
+    @Test
+    void testUpdateReindexesReplacedTask() {
+        store.add(t1);
+        store.add(t2);
+        Task edited = new Task(t1.getId(), "task 1 ## done");
+        store.update(edited);
+        t1.setStatus(Status.UP_NEXT);
+        assertTrue(store.getTasks(Status.UP_NEXT).isEmpty());
+        assertEquals(Arrays.asList(edited), new ArrayList<>(store.getTasks(Status.DONE)));
+        assertEquals(Arrays.asList(edited, t2), store.getTasksByPriority());
+    }
+
+    @Test
+    void testObserversAreNotifiedOfChanges() {
+        List<TaskStoreChange> changes = new ArrayList<>();
+        store.addObserver((o, arg) -> changes.add((TaskStoreChange) arg));
+        store.add(t1);
+        store.add(t1);
+        t1.setStatus(Status.DONE);
+        Task edited = new Task(t1.getId(), "task 1 edited");
+        store.update(edited);
+        t1.setStatus(Status.TODO);
+        store.delete(t1.getId());
+        store.delete(t1.getId());
+
+        assertEquals(4, changes.size());
+        assertEquals(TaskStoreChange.Kind.ADDED, changes.get(0).getKind());
+        assertSame(t1, changes.get(0).getTask());
+        assertEquals(TaskStoreChange.Kind.UPDATED, changes.get(1).getKind());
+        assertSame(t1, changes.get(1).getTask());
+        assertEquals(TaskStoreChange.Kind.UPDATED, changes.get(2).getKind());
+        assertSame(edited, changes.get(2).getTask());
+        assertEquals(TaskStoreChange.Kind.REMOVED, changes.get(3).getKind());
+        assertSame(edited, changes.get(3).getTask());
+    }
+
+    @Test
+    void testChangesGiveIndexInDisplayOrder() {
+        List<Task> shown = new ArrayList<>();
+        store.addObserver((o, arg) -> {
+            TaskStoreChange change = (TaskStoreChange) arg;
+            if (change.getKind() == TaskStoreChange.Kind.ADDED) {
+                shown.add(change.getIndex(), change.getTask());
+            } else if (change.getKind() == TaskStoreChange.Kind.REMOVED) {
+                assertSame(change.getTask(), shown.remove(change.getIndex()));
+            } else {
+                assertEquals(change.getTask().getId(), shown.set(change.getIndex(), change.getTask()).getId());
+            }
+        });
+        for (int i = 0; i < 300; i++) {
+            store.add(new Task("task " + i));
+            if (i % 3 == 0) {
+                store.delete(shown.get(i % shown.size()).getId());
+            } else if (i % 5 == 0) {
+                shown.get(i % shown.size()).setStatus(Status.DONE);
+                store.update(new Task(shown.get(i / 2 % shown.size()).getId(), "edited " + i));
+            }
+            assertEquals(new ArrayList<>(store.getTasks()), shown);
+        }
+    }
+
+    @Test
+    void testDueDateQueries() {
+        ZoneId zone = ZoneId.of("America/Vancouver");
+        LocalDateTime now = LocalDateTime.of(2019, 3, 5, 14, 30);
+        Clock clock = Clock.fixed(now.atZone(zone).toInstant(), zone);
+        Task earlierToday = new Task("earlier today");
+        Task laterToday = new Task("later today");
+        Task yesterday = new Task("yesterday");
+        Task inSixDays = new Task("in six days");
+        Task inSevenDays = new Task("in seven days");
+        for (Task t : Arrays.asList(inSevenDays, laterToday, inSixDays, earlierToday, yesterday, t1)) {
+            store.add(t);
+        }
+        earlierToday.setDueDate(dueAt(now.minusMinutes(1), zone));
+        laterToday.setDueDate(dueAt(now.withHour(23).withMinute(59), zone));
+        yesterday.setDueDate(dueAt(now.minusDays(1).withHour(23).withMinute(59), zone));
+        inSixDays.setDueDate(dueAt(now.plusDays(6).withHour(23).withMinute(59), zone));
+        inSevenDays.setDueDate(dueAt(now.plusDays(7).withHour(0).withMinute(0), zone));
+
+        assertEquals(Arrays.asList(yesterday, earlierToday), store.getOverdueTasks(clock));
+        assertEquals(Arrays.asList(earlierToday, laterToday), store.getTasksDueToday(clock));
+        assertEquals(Arrays.asList(earlierToday, laterToday, inSixDays), store.getTasksDueWithinAWeek(clock));
+
+        laterToday.setDueDate(Task.NO_DUE_DATE);
+        inSevenDays.setDueDate(dueAt(now.plusHours(1), zone));
+        assertEquals(Arrays.asList(earlierToday, inSevenDays), store.getTasksDueToday(clock));
+    }
+
+    @Test
+    void testDueDateChangedInPlace() {
+        ZoneId zone = ZoneId.of("America/Vancouver");
+        LocalDateTime now = LocalDateTime.of(2019, 3, 5, 14, 30);
+        Clock clock = Clock.fixed(now.atZone(zone).toInstant(), zone);
+        store.add(t1);
+        t1.setDueDate(dueAt(now.plusHours(1), zone));
+
+        t1.getDueDate().postponeOneDay();
+        t1.setDueDate(t1.getDueDate());
+        assertTrue(store.getTasksDueToday(clock).isEmpty());
+        assertEquals(Arrays.asList(t1), store.getTasksDueWithinAWeek(clock));
+    }
+
+    // EFFECTS: returns the due date at the wall-clock time in zone
+    private static DueDate dueAt(LocalDateTime time, ZoneId zone) {
+        return new DueDate(Date.from(time.atZone(zone).toInstant()));
+    }
+
+    @Test
+    void testTasksTagged() {
+        Task tagged = new Task("tagged ## store-tag");
+        t2.addTag("store-tag");
+        store.add(t1);
+        store.add(t2);
+        store.add(tagged);
+        assertEquals(Arrays.asList(t2, tagged), new ArrayList<>(store.getTasksTagged("store-tag")));
+        assertTrue(store.getTasksTagged("store-unknown").isEmpty());
+
+        t1.addTag("store-tag");
+        t2.removeTag("store-tag");
+        assertEquals(Arrays.asList(t1, tagged), new ArrayList<>(store.getTasksTagged("store-tag")));
+    }
+
+    @Test
+    void testTasksTaggedOnlyStoredTasks() {
+        Task stored = new Task("stored ## store-scoped");
+        store.add(stored);
+        Task replayed = new Task(stored.getId(), "replayed ## store-scoped");
+        Task discarded = new Task("discarded ## store-scoped");
+        assertTrue(discarded.containsTag("store-scoped"));
+        assertEquals(Arrays.asList(stored), new ArrayList<>(store.getTasksTagged("store-scoped")));
+
+        store.update(replayed);
+        assertEquals(Arrays.asList(replayed), new ArrayList<>(store.getTasksTagged("store-scoped")));
+        stored.addTag("store-other");
+        assertTrue(store.getTasksTagged("store-other").isEmpty());
+
+        store.delete(replayed.getId());
+        assertTrue(store.getTasksTagged("store-scoped").isEmpty());
+        replayed.removeTag("store-scoped");
+        assertTrue(store.getTasksTagged("store-scoped").isEmpty());
+    }
+
+    @Test
+    void testTasksTaggedThrowEmptyStringException() {
+        assertThrows(EmptyStringException.class, () -> store.getTasksTagged(""));
+    }
+}
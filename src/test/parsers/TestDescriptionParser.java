@@ -0,0 +1,102 @@
+package parsers;
+
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDescriptionParser {
+    private DescriptionParser parser;
+
+    @BeforeEach
+    public void newParser() {
+        parser = new DescriptionParser(2);
+    }
+
+    @Test
+    void testNoMetadata() {
+        ParsedDescription parsed = parser.parse("Read the syllabus");
+        assertFalse(parsed.hasMetadata());
+        assertEquals("Read the syllabus", parsed.getDescription());
+    }
+
+    @Test
+    void testAppliesSameChangesAsTagParser() throws Exception {
+        String description = "Register ## important; up next; tomorrow; cpsc210; project";
+        Task expected = new Task("seed", new Priority(3), Status.DONE, Task.NO_DUE_DATE);
+        TagParser tagParser = new TagParser();
+        tagParser.parse(description, expected);
+
+        Task actual = new Task("seed", new Priority(3), Status.DONE, Task.NO_DUE_DATE);
+        ParsedDescription parsed = parser.parse(description);
+        parsed.applyTo(actual);
+
+        assertTrue(parsed.hasMetadata());
+        assertEquals(tagParser.getDescription(), parsed.getDescription());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+    }
+
+    @Test
+    void testRepeatedDescriptionIsParsedOnce() {
+        ParsedDescription parsed = parser.parse("task ## cpsc210");
+        assertSame(parsed, parser.parse("task ## cpsc210"));
+        assertEquals(1, parser.size());
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        ParsedDescription first = parser.parse("first ## a");
+        parser.parse("second ## b");
+        parser.parse("first ## a");
+        parser.parse("third ## c");
+        assertEquals(2, parser.size());
+        assertSame(first, parser.parse("first ## a"));
+        assertNotSame(parser.parse("second ## b"), parser.parse("third ## c"));
+    }
+
+    @Test
+    void testRelativeDueDateIsParsedAgainNextDay() {
+        long today = LocalDate.now().toEpochDay();
+        ParsedDescription withDueDate = parser.parse("task ## today", today);
+        ParsedDescription withoutDueDate = parser.parse("task ## urgent", today);
+        assertNotSame(withDueDate, parser.parse("task ## today", today + 1));
+        assertSame(withoutDueDate, parser.parse("task ## urgent", today + 1));
+    }
+
+    @Test
+    void testDueDateIsNotShared() {
+        ParsedDescription parsed = parser.parse("task ## today");
+        Task t1 = new Task("t1");
+        Task t2 = new Task("t2");
+        parsed.applyTo(t1);
+        parsed.applyTo(t2);
+        t1.getDueDate().postponeOneDay();
+        assertNotEquals(t1.getDueDate(), t2.getDueDate());
+        assertEquals(t2.getDueDate(), new Task("t3 ## today").getDueDate());
+    }
+
+    @Test
+    void testParseUsesNoTaskIds() {
+        long id = new Task("before").getId();
+        parser.parse("Parse me ## ids; today; in progress");
+        parser.parse("Parse me too ## ids; done");
+        assertEquals(id + 1, new Task("after").getId());
+    }
+
+    @Test
+    void testStatusOnlySetWhenMentioned() {
+        Task task = new Task("seed", new Priority(3), Status.DONE, Task.NO_DUE_DATE);
+        parser.parse("Keep status ## tag").applyTo(task);
+        assertEquals(Status.DONE, task.getStatus());
+        parser.parse("Reset status ## to do").applyTo(task);
+        assertEquals(Status.TODO, task.getStatus());
+    }
+}
@@ -0,0 +1,156 @@
+package parsers;
+
+import model.Task;
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskParser {
+    private static final String VALID = "{\"due-date\":{\"month\":1,\"hour\":23,\"year\":2019,\"day\":16,"
+            + "\"minute\":59},\"description\":\"Register for the course. \",\"priority\":{\"important\":true,"
+            + "\"urgent\":true},\"tags\":[{\"name\":\"cpsc210\"}],\"status\":\"IN_PROGRESS\"}";
+    private static final String NO_DUE_DATE = "{\"due-date\":null,\"description\":\"Read the syllabus! \","
+            + "\"priority\":{\"important\":false,\"urgent\":false},\"tags\":[],\"status\":\"TODO\"}";
+    private static final String BAD_STATUS = "{\"due-date\":null,\"description\":\"bad status\","
+            + "\"priority\":{\"important\":false,\"urgent\":false},\"tags\":[],\"status\":\"LATER\"}";
+    private static final String NO_PRIORITY = "{\"due-date\":null,\"description\":\"no priority\","
+            + "\"tags\":[],\"status\":\"TODO\"}";
+    private static final String TRICKY = "{\"due-date\":null,\"description\":\"a \\\"quoted\\\" [x], {y}\","
+            + "\"priority\":{\"important\":false,\"urgent\":true},\"tags\":[{\"name\":\"]\"}],\"status\":\"DONE\"}";
+
+    private TaskParser parser;
+
+    @BeforeEach
+    public void newParser() {
+        parser = new TaskParser();
+    }
+
+    @Test
+    void testParseSkipsMalformedEntries() {
+        String input = "[" + VALID + "," + BAD_STATUS + "," + NO_DUE_DATE + ",42," + NO_PRIORITY + "]";
+        List<Task> tasks = parser.parse(input);
+        assertEquals(2, tasks.size());
+        assertEquals("Register for the course. ", tasks.get(0).getDescription());
+        assertEquals("Read the syllabus! ", tasks.get(1).getDescription());
+    }
+
+    @Test
+    void testParseReaderMatchesParseString() {
+        String input = "[" + VALID + "," + TRICKY + "," + NO_DUE_DATE + "]";
+        assertEquals(parser.parse(input).toString(), parser.parse(new StringReader(input)).toString());
+    }
+
+    @Test
+    void testParseEmptyArray() {
+        assertTrue(parser.parse(" [ ] ").isEmpty());
+        assertTrue(parser.parseParallel(" [ ] ").isEmpty());
+    }
+
+    @Test
+    void testParseParallelMatchesParse() {
+        StringBuilder input = new StringBuilder("[");
+        String[] entries = {VALID, BAD_STATUS, TRICKY, NO_PRIORITY, NO_DUE_DATE, "null"};
+        for (int i = 0; i < 5000; i++) {
+            input.append(entries[i % entries.length]).append(",\n");
+        }
+        input.append(VALID).append("]");
+
+        List<Task> sequential = parser.parse(input.toString());
+        List<Task> parallel = parser.parseParallel(input.toString(), new ForkJoinPool(4));
+        assertEquals(2501, parallel.size());
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+
+    @Test
+    void testParseParallelThrowsOnUnterminatedArray() {
+        assertThrows(JSONException.class, () -> parser.parseParallel("[" + VALID + "," + NO_DUE_DATE));
+    }
+
+    @Test
+    void testParseParallelThrowsOnInvalidElement() {
+        assertThrows(JSONException.class,
+                () -> parser.parseParallel("[" + VALID + " garbage," + NO_DUE_DATE + "]"));
+    }
+
+    @Test
+    void testMalformedElementThrowsOnBothPaths() {
+        String[] inputs = {"[" + VALID + ",[\"a\" \"b\"]]", "[" + VALID + ",{\"a\" 1}]", "[" + VALID + ",a:b]",
+            "[\"open, " + VALID + "]"};
+        for (String input : inputs) {
+            assertThrows(JSONException.class, () -> parser.parse(input), input);
+            assertThrows(JSONException.class, () -> parser.parseParallel(input), input);
+        }
+        String notObjects = "[" + VALID + ",[1, 2],[1 2],\"text\",1 2]";
+        assertEquals(1, parser.parse(notObjects).size());
+        List<RejectedEntry> rejected = parser.getRejectedEntries();
+        assertEquals(1, parser.parseParallel(notObjects).size());
+        assertEquals(rejected.toString(), parser.getRejectedEntries().toString());
+    }
+
+    @Test
+    void testRejectedEntriesReportIndexAndReason() {
+        String input = "[" + VALID + "," + BAD_STATUS + ",42," + NO_PRIORITY + "," + NO_DUE_DATE + "]";
+        parser.parse(input);
+        List<RejectedEntry> rejected = parser.getRejectedEntries();
+        assertEquals(3, rejected.size());
+        assertEquals(1, rejected.get(0).getIndex());
+        assertEquals("status is missing or unknown", rejected.get(0).getReason());
+        assertEquals(2, rejected.get(1).getIndex());
+        assertEquals("entry is not a JSON object", rejected.get(1).getReason());
+        assertEquals(3, rejected.get(2).getIndex());
+        assertEquals("priority is missing or not an object", rejected.get(2).getReason());
+
+        parser.parseParallel(input);
+        assertEquals(rejected.toString(), parser.getRejectedEntries().toString());
+    }
+
+    @Test
+    void testEmptyDescriptionAndTagNameAreRejected() {
+        String input = "[" + NO_DUE_DATE.replace("Read the syllabus! ", "") + ","
+                + VALID.replace("cpsc210", "") + "]";
+        assertTrue(parser.parse(input).isEmpty());
+        assertEquals("description is empty", parser.getRejectedEntries().get(0).getReason());
+        assertEquals("tag 0 has no name", parser.getRejectedEntries().get(1).getReason());
+    }
+
+    @Test
+    void testMalformedDueDateIsRejected() {
+        String input = "[" + VALID.replace("\"minute\":59", "\"minute\":\"soon\"") + "]";
+        assertTrue(parser.parse(input).isEmpty());
+        assertEquals(1, parser.getRejectedEntries().size());
+    }
+
+    @Test
+    void testStringEncodedValuesAreAccepted() {
+        String input = "[" + VALID.replace("\"year\":2019", "\"year\":\"2019\"")
+                .replace("\"important\":true", "\"important\":\"TRUE\"") + "]";
+        List<Task> tasks = parser.parse(input);
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).getPriority().isImportant());
+        assertTrue(parser.getRejectedEntries().isEmpty());
+    }
+
+    @Test
+    void testIdIsReadWhenPresent() {
+        long id = new Task("t").getId() + 1000;
+        String input = "[" + VALID.replace("{\"due-date\"", "{\"id\":" + id + ",\"due-date\"") + "," + NO_DUE_DATE + "]";
+        List<Task> tasks = parser.parse(input);
+        assertEquals(2, tasks.size());
+        assertEquals(id, tasks.get(0).getId());
+        assertTrue(tasks.get(1).getId() > id);
+    }
+
+    @Test
+    void testInvalidIdIsRejected() {
+        String input = "[" + VALID.replace("{\"due-date\"", "{\"id\":-3,\"due-date\"") + ","
+                + VALID.replace("{\"due-date\"", "{\"id\":\"x\",\"due-date\"") + "]";
+        assertTrue(parser.parse(input).isEmpty());
+        assertEquals(2, parser.getRejectedEntries().size());
+    }
+}
@@ -0,0 +1,114 @@
+package persistence;
+
+import model.DueDate;
+import model.Task;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import parsers.TaskParser;
+import utility.JsonFileIO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDueDateCodec {
+
+    @Test
+    void testRoundTripOfTasksJson() throws IOException {
+        String json = new String(Files.readAllBytes(JsonFileIO.jsonDataFile.toPath()));
+        JSONArray entries = new JSONArray(json);
+        List<Task> tasks = new TaskParser().parse(json);
+        assertEquals(entries.length(), tasks.size());
+        int withDueDate = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            JSONObject fields = entries.getJSONObject(i).optJSONObject("due-date");
+            DueDate dueDate = tasks.get(i).getDueDate();
+            if (fields == null) {
+                assertNull(dueDate);
+                continue;
+            }
+            withDueDate++;
+            assertEquals(calendarDate(fields, TimeZone.getDefault()), seconds(dueDate));
+            assertEquals(fields.toString(), Jsonifier.dueDateToJson(dueDate).toString());
+        }
+        assertTrue(withDueDate > 0);
+    }
+
+    @Test
+    void testMatchesCalendarInOtherZones() {
+        for (String zone : new String[] {"UTC", "America/Vancouver", "Asia/Kolkata", "Australia/Lord_Howe"}) {
+            DueDateCodec codec = new DueDateCodec(ZoneId.of(zone));
+            for (int month = 0; month < 12; month++) {
+                DueDate dueDate = codec.toDueDate(2019, month, 16, 23, 59);
+                JSONObject fields = fields(2019, month, 16, 23, 59);
+                assertEquals(calendarDate(fields, TimeZone.getTimeZone(zone)), seconds(dueDate));
+                assertEquals(LocalDateTime.of(2019, month + 1, 16, 23, 59), codec.toLocalDateTime(dueDate));
+                assertEquals(LocalDateTime.of(2019, month + 1, 16, 23, 59),
+                        codec.toLocalDateTime(Math.floorDiv(dueDate.getDate().getTime(), 60000)));
+            }
+        }
+    }
+
+    @Test
+    void testOutOfRangeFieldsRollOver() {
+        DueDateCodec codec = new DueDateCodec(ZoneId.of("UTC"));
+        DueDate dueDate = codec.toDueDate(2019, 12, 32, 24, 60);
+        assertEquals(LocalDateTime.of(2020, 2, 2, 1, 0), codec.toLocalDateTime(dueDate));
+        assertEquals(calendarDate(fields(2019, 12, 32, 24, 60), TimeZone.getTimeZone("UTC")),
+                seconds(dueDate));
+    }
+
+    @Test
+    void testSkippedTimeMovesForward() {
+        DueDateCodec codec = new DueDateCodec(ZoneId.of("America/Vancouver"));
+        DueDate dueDate = codec.toDueDate(2019, 2, 10, 2, 30);
+        assertEquals(LocalDateTime.of(2019, 3, 10, 3, 30), codec.toLocalDateTime(dueDate));
+    }
+
+    @Test
+    void testLocalFollowsDefaultZone() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String zone : new String[] {"UTC", "Asia/Kolkata"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                DueDate dueDate = DueDateCodec.LOCAL.toDueDate(2019, 1, 16, 23, 59);
+                assertEquals(calendarDate(fields(2019, 1, 16, 23, 59), TimeZone.getTimeZone(zone)), seconds(dueDate));
+                assertEquals(LocalDateTime.of(2019, 2, 16, 23, 59), DueDateCodec.LOCAL.toLocalDateTime(dueDate));
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    // EFFECTS: returns the due date fields of a JSON due date
+    private static JSONObject fields(int year, int month, int day, int hour, int minute) {
+        JSONObject fields = new JSONObject();
+        fields.put("year", year);
+        fields.put("month", month);
+        fields.put("day", day);
+        fields.put("hour", hour);
+        fields.put("minute", minute);
+        return fields;
+    }
+
+    // EFFECTS: returns the time of dueDate in seconds (DueDate does not keep the milliseconds it is given)
+    private static long seconds(DueDate dueDate) {
+        return dueDate.getDate().getTime() / 1000;
+    }
+
+    // EFFECTS: returns the time in seconds of the JSON due date fields, as a lenient Calendar in zone computes it
+    private static long calendarDate(JSONObject fields, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.clear();
+        calendar.set(fields.getInt("year"), fields.getInt("month"), fields.getInt("day"),
+                fields.getInt("hour"), fields.getInt("minute"));
+        return calendar.getTimeInMillis() / 1000;
+    }
+}
@@ -0,0 +1,71 @@
+package persistence;
+
+import model.Task;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import parsers.TaskParser;
+import utility.JsonFileIO;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJsonifier {
+
+    @Test
+    void testWriteTaskListMatchesJsonArray() throws IOException {
+        List<Task> tasks = Arrays.asList(
+                new Task("Register for the course. ## cpsc210; tomorrow; important; urgent; in progress"),
+                new Task("Read the \"syllabus\"\n\t</script> \u00e9t\u00e9 ## cpsc210; reading; done"),
+                new Task("Celebrate ## today; up next; urgent"),
+                new Task("No meta-data at all"));
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(), write(tasks));
+        assertEquals(Jsonifier.taskListToJson(new ArrayList<>()).toString(), write(new ArrayList<>()));
+    }
+
+    @Test
+    void testWriteTaskListOfTasksJson() throws IOException {
+        String json = new String(Files.readAllBytes(JsonFileIO.jsonDataFile.toPath()));
+        List<Task> tasks = new TaskParser().parse(json);
+        String written = write(tasks);
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(), written);
+        assertEquals(tasks.size(), new TaskParser().parse(written).size());
+    }
+
+    @Test
+    void testWriteTaskListAfterDueDateChangedInPlace() throws IOException {
+        Task task = new Task("Celebrate ## today; up next; urgent");
+        List<Task> tasks = Arrays.asList(task);
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(), write(tasks));
+
+        task.getDueDate().postponeOneDay();
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(), write(tasks));
+        assertTrue(write(tasks).contains("\"day\":" + LocalDate.now().plusDays(1).getDayOfMonth() + ","));
+    }
+
+    @Test
+    void testJsonObjectKeyOrder() {
+        // writeTaskList writes keys in the order JSONObject iterates them, which is set by the
+        // HashMap of org.json rather than by Jsonifier; this checks that order has not changed
+        JSONObject json = Jsonifier.taskToJson(new Task("Celebrate ## today; urgent; party"));
+        assertEquals(Arrays.asList("due-date", "description", "id", "priority", "tags", "status"),
+                new ArrayList<>(json.keySet()));
+        assertEquals(Arrays.asList("month", "hour", "year", "day", "minute"),
+                new ArrayList<>(json.getJSONObject("due-date").keySet()));
+        assertEquals(Arrays.asList("important", "urgent"), new ArrayList<>(json.getJSONObject("priority").keySet()));
+        assertEquals(Arrays.asList("name"), new ArrayList<>(json.getJSONArray("tags").getJSONObject(0).keySet()));
+    }
+
+    // EFFECTS: returns what writeTaskList writes for tasks
+    private static String write(List<Task> tasks) throws IOException {
+        StringWriter writer = new StringWriter();
+        Jsonifier.writeTaskList(tasks, writer);
+        return writer.toString();
+    }
+}
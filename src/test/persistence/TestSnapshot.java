@@ -0,0 +1,284 @@
+package persistence;
+
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import parsers.SnapshotParser;
+import parsers.TaskParser;
+import parsers.exceptions.ParsingException;
+import utility.JsonFileIO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSnapshot {
+    private File jsonFile;
+    private File snapshotFile;
+
+    @BeforeEach
+    public void createFiles() throws IOException {
+        jsonFile = File.createTempFile("tasks", ".json");
+        snapshotFile = File.createTempFile("tasks", ".bin");
+        jsonFile.deleteOnExit();
+        snapshotFile.deleteOnExit();
+        for (int generation = 1; generation <= JsonFileIO.BACKUP_GENERATIONS; generation++) {
+            JsonFileIO.backupOf(jsonFile, generation).deleteOnExit();
+            JsonFileIO.backupOf(snapshotFile, generation).deleteOnExit();
+        }
+    }
+
+    @Test
+    void testRoundTripOfTasksJson() throws IOException {
+        String json = new String(Files.readAllBytes(JsonFileIO.jsonDataFile.toPath()));
+        List<Task> parsed = new TaskParser().parse(json);
+        JsonFileIO.writeSnapshot(parsed, snapshotFile);
+        assertTasksEqual(parsed, JsonFileIO.readSnapshot(snapshotFile));
+    }
+
+    @Test
+    void testConvertToSnapshotAndBackToJson() {
+        List<Task> tasks = new ArrayList<>();
+        Task t1 = new Task("Register for the course. ## cpsc210; tomorrow; important; urgent; in progress");
+        Task t2 = new Task("Read the syllabus ## cpsc210; reading; done");
+        Task t3 = new Task("Celebrate ## party; today");
+        tasks.add(t1);
+        tasks.add(t2);
+        tasks.add(t3);
+        JsonFileIO.write(tasks, jsonFile);
+
+        JsonFileIO.convertToSnapshot(jsonFile, snapshotFile);
+        List<Task> fromSnapshot = JsonFileIO.readSnapshot(snapshotFile);
+        assertTasksEqual(JsonFileIO.read(jsonFile), fromSnapshot);
+
+        JsonFileIO.convertToJson(snapshotFile, jsonFile);
+        assertTasksEqual(tasks, JsonFileIO.read(jsonFile));
+    }
+
+    @Test
+    void testEmptyList() {
+        JsonFileIO.writeSnapshot(new ArrayList<>(), snapshotFile);
+        assertTrue(JsonFileIO.readSnapshot(snapshotFile).isEmpty());
+    }
+
+    @Test
+    void testStringsAreStoredOnce() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task t = new Task("same description");
+            t.addTag("same tag");
+            tasks.add(t);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotEncoder.write(tasks, out);
+        int strings = ByteBuffer.wrap(out.toByteArray()).getInt(12);
+        assertEquals(2, strings);
+    }
+
+    @Test
+    void testAllStatusesAndPriorities() throws IOException, ParsingException {
+        List<Task> tasks = new ArrayList<>();
+        for (Status s : Status.values()) {
+            for (int level = 1; level <= 4; level++) {
+                Task t = new Task("t\u00e2che \u2603 " + s + level);
+                t.setStatus(s);
+                t.setPriority(new Priority(level));
+                tasks.add(t);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotEncoder.write(tasks, out);
+        assertTasksEqual(tasks, new SnapshotParser().parse(ByteBuffer.wrap(out.toByteArray())));
+    }
+
+    @Test
+    void testCorruptSnapshotThrowsParsingException() {
+        try {
+            new SnapshotParser().parse(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7}));
+            fail("Expected exception not thrown");
+        } catch (ParsingException e) {
+            System.out.println("Caught expected ParsingException");
+        }
+    }
+
+    @Test
+    void testTruncatedSnapshotThrowsParsingException() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task("task ## tag"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotEncoder.write(tasks, out);
+        byte[] bytes = out.toByteArray();
+        try {
+            new SnapshotParser().parse(ByteBuffer.wrap(bytes, 0, bytes.length - 2));
+            fail("Expected exception not thrown");
+        } catch (ParsingException e) {
+            System.out.println("Caught expected ParsingException");
+        }
+    }
+
+    @Test
+    void testDueDateDoesNotDependOnTimeZone() throws IOException, ParsingException {
+        TimeZone zone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Vancouver"));
+            Task task = new Task("task ## tomorrow");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            SnapshotEncoder.write(Collections.singletonList(task), out);
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+            List<Task> tasks = new SnapshotParser().parse(ByteBuffer.wrap(out.toByteArray()));
+            assertEquals(task.getDueMinute(), tasks.get(0).getDueMinute());
+        } finally {
+            TimeZone.setDefault(zone);
+        }
+    }
+
+    @Test
+    void testEntryWithEmptyDescriptionIsRejectedAlone() throws IOException, ParsingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, SnapshotEncoder.VERSION, 2);
+        data.writeLong(1);
+        data.writeInt(1);
+        data.writeByte(0);
+        data.writeLong(0);
+        data.writeShort(0);
+        data.writeLong(2);
+        data.writeInt(0);
+        data.writeByte(SnapshotEncoder.URGENT);
+        data.writeLong(0);
+        data.writeShort(0);
+
+        SnapshotParser parser = new SnapshotParser();
+        List<Task> tasks = parser.parse(ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(1, tasks.size());
+        assertEquals("kept", tasks.get(0).getDescription());
+        assertEquals(2, tasks.get(0).getId());
+        assertEquals(1, parser.getRejectedEntries().size());
+        assertEquals(0, parser.getRejectedEntries().get(0).getIndex());
+    }
+
+    @Test
+    void testOlderVersionThrowsParsingException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeHeader(new DataOutputStream(out), SnapshotEncoder.VERSION - 1, 0);
+        assertCorrupt(out.toByteArray());
+    }
+
+    @Test
+    void testNegativeCountsThrowParsingException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SnapshotEncoder.MAGIC);
+        data.writeShort(SnapshotEncoder.VERSION);
+        data.writeShort(0);
+        data.writeInt(0);
+        data.writeInt(-1);
+        assertCorrupt(out.toByteArray());
+
+        out.reset();
+        writeHeader(data, SnapshotEncoder.VERSION, -1);
+        assertCorrupt(out.toByteArray());
+
+        out.reset();
+        writeHeader(data, SnapshotEncoder.VERSION, 1);
+        writeRecord(data, 1, 0, 0, 0);
+        data.writeShort(-1);
+        assertCorrupt(out.toByteArray());
+    }
+
+    @Test
+    void testNegativeStringLengthThrowsParsingException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SnapshotEncoder.MAGIC);
+        data.writeShort(SnapshotEncoder.VERSION);
+        data.writeShort(0);
+        data.writeInt(0);
+        data.writeInt(1);
+        data.writeInt(-4);
+        assertCorrupt(out.toByteArray());
+    }
+
+    @Test
+    void testCountsLargerThanSnapshotThrowParsingException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, SnapshotEncoder.VERSION, Integer.MAX_VALUE);
+        assertCorrupt(out.toByteArray());
+
+        out.reset();
+        writeHeader(data, SnapshotEncoder.VERSION, 1);
+        writeRecord(data, 1, 0, 0, 0);
+        data.writeShort(Short.MAX_VALUE);
+        assertCorrupt(out.toByteArray());
+    }
+
+    @Test
+    void testDueMinuteOutOfRangeThrowsParsingException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, SnapshotEncoder.VERSION, 1);
+        writeRecord(data, 1, 0, SnapshotEncoder.HAS_DUE_DATE, Long.MAX_VALUE / 1000);
+        data.writeShort(0);
+        assertCorrupt(out.toByteArray());
+    }
+
+    // EFFECTS: fails unless parsing bytes throws ParsingException
+    private void assertCorrupt(byte[] bytes) {
+        try {
+            new SnapshotParser().parse(ByteBuffer.wrap(bytes));
+            fail("Expected exception not thrown");
+        } catch (ParsingException e) {
+            System.out.println("Caught expected ParsingException");
+        }
+    }
+
+    // MODIFIES: data
+    // EFFECTS: writes the fields of a task record up to, but not including, its number of tags
+    private void writeRecord(DataOutputStream data, long id, int description, int flags, long dueMinute)
+            throws IOException {
+        data.writeLong(id);
+        data.writeInt(description);
+        data.writeByte(flags);
+        data.writeLong(dueMinute);
+    }
+
+    // MODIFIES: data
+    // EFFECTS: writes the header of a snapshot of numberOfTasks tasks, with the strings "kept" and ""
+    private void writeHeader(DataOutputStream data, int version, int numberOfTasks) throws IOException {
+        data.writeInt(SnapshotEncoder.MAGIC);
+        data.writeShort(version);
+        data.writeShort(0);
+        data.writeInt(numberOfTasks);
+        data.writeInt(2);
+        data.writeInt(4);
+        data.write("kept".getBytes("UTF-8"));
+        data.writeInt(0);
+    }
+
+    private void assertTasksEqual(List<Task> expected, List<Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Task e = expected.get(i);
+            Task a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getDescription(), a.getDescription());
+            assertEquals(e.getDueDate(), a.getDueDate());
+            assertEquals(e.getPriority(), a.getPriority());
+            assertEquals(e.getStatus(), a.getStatus());
+            assertEquals(e.getTags(), a.getTags());
+        }
+    }
+}
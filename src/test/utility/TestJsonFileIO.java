@@ -0,0 +1,118 @@
+package utility;
+
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJsonFileIO {
+    private File directory;
+    private File jsonFile;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("tasks").toFile();
+        jsonFile = new File(directory, "tasks.json");
+    }
+
+    @AfterEach
+    public void deleteDirectory() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    void testWriteReplacesFile() {
+        JsonFileIO.write(Arrays.asList(new Task("task 1"), new Task("task 2")), jsonFile);
+        JsonFileIO.write(Collections.singletonList(new Task("task 3")), jsonFile);
+        List<Task> tasks = JsonFileIO.read(jsonFile);
+        assertEquals(1, tasks.size());
+        assertEquals("task 3", tasks.get(0).getDescription());
+        assertEquals(Arrays.asList("tasks.json", "tasks.json.1"), fileNames());
+    }
+
+    @Test
+    void testWriteKeepsPermissions() throws IOException {
+        JsonFileIO.write(Collections.singletonList(new Task("task 1")), jsonFile);
+        if (Files.getFileAttributeView(jsonFile.toPath(), PosixFileAttributeView.class) == null) {
+            return;  // no POSIX permissions on this file system
+        }
+        Set<PosixFilePermission> mode = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(jsonFile.toPath(), mode);
+        JsonFileIO.write(Collections.singletonList(new Task("task 2")), jsonFile);
+        assertEquals(mode, Files.getPosixFilePermissions(jsonFile.toPath()));
+    }
+
+    @Test
+    void testWriteRotatesBackups() {
+        for (int i = 0; i < JsonFileIO.BACKUP_GENERATIONS + 2; i++) {
+            JsonFileIO.write(Collections.singletonList(new Task("version " + i)), jsonFile);
+        }
+        for (int generation = 1; generation <= JsonFileIO.BACKUP_GENERATIONS; generation++) {
+            List<Task> backup = JsonFileIO.read(JsonFileIO.backupOf(jsonFile, generation));
+            assertEquals("version " + (JsonFileIO.BACKUP_GENERATIONS + 1 - generation),
+                    backup.get(0).getDescription());
+        }
+        assertEquals(JsonFileIO.BACKUP_GENERATIONS + 1, fileNames().size());
+    }
+
+    @Test
+    void testFailedWriteThrowsAndKeepsFile() {
+        JsonFileIO.write(Collections.singletonList(new Task("kept")), jsonFile);
+        try {
+            JsonFileIO.write(Collections.singletonList(new Task("lost")), new File(jsonFile, "missing"));
+            fail("UncheckedIOException should have been thrown");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        assertEquals("kept", JsonFileIO.read(jsonFile).get(0).getDescription());
+        assertEquals(Collections.singletonList("tasks.json"), fileNames());
+    }
+
+    @Test
+    void testReadMissingFileIsEmpty() {
+        assertTrue(JsonFileIO.read(jsonFile).isEmpty());
+        assertTrue(JsonFileIO.readParallel(jsonFile).isEmpty());
+        assertTrue(JsonFileIO.readSnapshot(jsonFile).isEmpty());
+    }
+
+    @Test
+    void testReadUnreadableFileThrows() {
+        try {
+            JsonFileIO.read(directory);
+            fail("UncheckedIOException should have been thrown");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        try {
+            JsonFileIO.readParallel(directory);
+            fail("UncheckedIOException should have been thrown");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+    }
+
+    // EFFECTS: returns the names of the files in directory, sorted
+    private List<String> fileNames() {
+        List<String> names = new ArrayList<>(Arrays.asList(directory.list()));
+        Collections.sort(names);
+        return names;
+    }
+}
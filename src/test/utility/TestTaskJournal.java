@@ -0,0 +1,143 @@
+package utility;
+
+import model.Task;
+import model.TaskStore;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskJournal {
+    private Task t1;
+    private Task t2;
+    private File directory;
+    private File journal;
+
+    @BeforeEach
+    public void newTasks() throws IOException {
+        t1 = new Task("task 1");
+        t2 = new Task("task 2");
+        directory = Files.createTempDirectory("journal").toFile();
+        journal = new File(directory, "tasks.journal");
+    }
+
+    @AfterEach
+    public void deleteDirectory() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    void testCoalesceKeepsUnrelatedRecords() {
+        List<JSONObject> records = Arrays.asList(TaskJournal.addRecord(t1), TaskJournal.editRecord(t2),
+                TaskJournal.deleteRecord(42));
+        assertEquals(records, TaskJournal.coalesce(records));
+    }
+
+    @Test
+    void testCoalesceMergesEdits() {
+        JSONObject add = TaskJournal.addRecord(t1);
+        JSONObject edit = TaskJournal.editRecord(t2);
+        t1.setDescription("task 1 edited");
+        JSONObject editAdded = TaskJournal.editRecord(t1);
+        t2.setDescription("task 2 edited");
+        JSONObject editEdited = TaskJournal.editRecord(t2);
+
+        List<JSONObject> coalesced = TaskJournal.coalesce(Arrays.asList(add, edit, editAdded, editEdited));
+        assertEquals(2, coalesced.size());
+        assertEquals("add", coalesced.get(0).getString("op"));
+        assertEquals("task 1 edited", coalesced.get(0).getJSONObject("task").getString("description"));
+        assertEquals("edit", coalesced.get(1).getString("op"));
+        assertEquals("task 2 edited", coalesced.get(1).getJSONObject("task").getString("description"));
+    }
+
+    @Test
+    void testCoalesceDropsDeletedChanges() {
+        JSONObject deleteT1 = TaskJournal.deleteRecord(t1.getId());
+        JSONObject deleteT2 = TaskJournal.deleteRecord(t2.getId());
+        List<JSONObject> records = new ArrayList<>(Arrays.asList(TaskJournal.addRecord(t1),
+                TaskJournal.editRecord(t2), TaskJournal.editRecord(t1), deleteT1, deleteT2));
+        assertEquals(Arrays.asList(deleteT2), TaskJournal.coalesce(records));
+    }
+
+    @Test
+    void testReplayMissingJournal() {
+        TaskStore tasks = TaskJournal.replay(new TaskStore(), journal);
+        assertEquals(0, tasks.size());
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    void testReplayAppliesRecordsInOrder() throws IOException {
+        TaskJournal.write(Arrays.asList(TaskJournal.addRecord(t1), TaskJournal.addRecord(t2)), journal);
+        t1.setDescription("task 1 edited");
+        TaskJournal.write(Arrays.asList(TaskJournal.editRecord(t1), TaskJournal.deleteRecord(t2.getId())),
+                journal);
+
+        TaskStore tasks = TaskJournal.replay(new TaskStore(), journal);
+        assertEquals(1, tasks.size());
+        assertEquals("task 1 edited", tasks.get(t1.getId()).getDescription());
+        assertNull(tasks.get(t2.getId()));
+    }
+
+    @Test
+    void testReplayCutsOffTornRecord() throws IOException {
+        TaskJournal.write(Collections.singletonList(TaskJournal.addRecord(t1)), journal);
+        long intact = journal.length();
+        appendTorn(TaskJournal.addRecord(t2));
+
+        TaskStore tasks = TaskJournal.replay(new TaskStore(), journal);
+        assertEquals(1, tasks.size());
+        assertNotNull(tasks.get(t1.getId()));
+        assertEquals(intact, journal.length());
+    }
+
+    @Test
+    void testAppendAfterTornRecordIsReplayed() throws IOException {
+        TaskJournal.write(Collections.singletonList(TaskJournal.addRecord(t1)), journal);
+        appendTorn(TaskJournal.addRecord(new Task("torn")));
+        TaskJournal.replay(new TaskStore(), journal);
+
+        Task t3 = new Task("task 3");
+        TaskJournal.write(Arrays.asList(TaskJournal.addRecord(t2), TaskJournal.addRecord(t3)), journal);
+        TaskStore tasks = TaskJournal.replay(new TaskStore(), journal);
+        assertEquals(3, tasks.size());
+        assertNotNull(tasks.get(t2.getId()));
+        assertNotNull(tasks.get(t3.getId()));
+    }
+
+    @Test
+    void testMalformedRecordEndsReplay() throws IOException {
+        TaskJournal.write(Collections.singletonList(TaskJournal.addRecord(t1)), journal);
+        long intact = journal.length();
+        Files.write(journal.toPath(), "{\"op\":\"rename\"}\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        TaskJournal.write(Collections.singletonList(TaskJournal.addRecord(t2)), journal);
+
+        TaskStore tasks = TaskJournal.replay(new TaskStore(), journal);
+        assertEquals(1, tasks.size());
+        assertEquals(intact, journal.length());
+    }
+
+    // MODIFIES: journal
+    // EFFECTS: appends the first half of record to journal, as a crash in the middle of an append would
+    private void appendTorn(JSONObject record) throws IOException {
+        String line = record.toString();
+        Files.write(journal.toPath(), line.substring(0, line.length() / 2).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+    }
+}